@@ -0,0 +1,141 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.DTO.DoctorsResponse;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorAvailability;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorAvailabilityRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.services.AvailabilityIndex;
+import com.project.back_end.services.DoctorCache;
+import com.project.back_end.services.DoctorSearchIndex;
+import com.project.back_end.services.DoctorService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Doctor availability and doctor search, with the repositories replaced by in-memory stubs
+ * so only the service-layer work is measured.
+ *
+ * legacyAvailability is the string-list algorithm getDoctorAvailability used before the
+ * slot bitmap index, kept here as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int doctorCount;
+
+    private DoctorService doctorService;
+    private LocalDate date;
+    private List<LocalDateTime> bookedTimes;
+
+    @Setup
+    public void setUp() {
+        List<Doctor> doctors = Fixtures.doctors(doctorCount);
+        Map<Long, Doctor> byId = doctors.stream().collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        date = LocalDate.now().plusDays(1);
+        bookedTimes = List.of(date.atTime(10, 0), date.atTime(15, 0));
+
+        DoctorRepository doctorRepository = RepositoryStub.of(DoctorRepository.class)
+                .answer("findById", args -> Optional.ofNullable(byId.get((Long) args[0])))
+                .answer("findByIdGreaterThanOrderByIdAsc", args -> doctors.stream()
+                        .filter(d -> d.getId() > (Long) args[0])
+                        .limit(((Limit) args[1]).max())
+                        .collect(Collectors.toList()))
+                .answer("findAllById", args -> ((Collection<?>) args[0]).stream()
+                        .map(byId::get)
+                        .collect(Collectors.toList()))
+                .answer("findByIdInAndStartTimeWindow", args -> ((Collection<?>) args[0]).stream()
+                        .map(byId::get)
+                        .filter(d -> startsWithin(d, (LocalTime) args[1], (LocalTime) args[2]))
+                        .collect(Collectors.toList()))
+                .build();
+        DoctorAvailabilityRepository availabilityRepository = RepositoryStub.of(DoctorAvailabilityRepository.class)
+                .answer("findStartTimesByDoctorId", args -> byId.get((Long) args[0]).getAvailability().stream()
+                        .map(DoctorAvailability::getStartTime)
+                        .collect(Collectors.toList()))
+                .build();
+        AppointmentRepository appointmentRepository = RepositoryStub.of(AppointmentRepository.class)
+                .answer("findAppointmentTimesByDoctorIdAndAppointmentTimeBetween", args -> bookedTimes)
+                .build();
+
+        DoctorCache doctorCache = Fixtures.doctorCache(doctorRepository);
+        AvailabilityIndex availabilityIndex =
+                new AvailabilityIndex(doctorCache, availabilityRepository, appointmentRepository,
+                        10_000, Duration.ofMinutes(1));
+        DoctorSearchIndex doctorSearchIndex = new DoctorSearchIndex(doctorRepository);
+        doctorSearchIndex.warmUp();
+
+        doctorService = new DoctorService();
+        ReflectionTestUtils.setField(doctorService, "doctorRepository", doctorRepository);
+        ReflectionTestUtils.setField(doctorService, "appointmentRepository", appointmentRepository);
+        ReflectionTestUtils.setField(doctorService, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(doctorService, "doctorSearchIndex", doctorSearchIndex);
+        ReflectionTestUtils.setField(doctorService, "doctorCache", doctorCache);
+
+        // Warm the availability index for the measured doctor and day
+        doctorService.getDoctorAvailability(1L, date);
+    }
+
+    @Benchmark
+    public List<String> getDoctorAvailability() {
+        return doctorService.getDoctorAvailability(1L, date);
+    }
+
+    @Benchmark
+    public List<String> legacyAvailability() {
+        List<String> allSlots = Arrays.asList("09:00", "10:00", "11:00", "12:00", "13:00", "14:00", "15:00", "16:00");
+        List<String> bookedSlots = bookedTimes.stream()
+                .map(t -> t.toLocalTime().toString())
+                .collect(Collectors.toList());
+        return allSlots.stream()
+                .filter(slot -> !bookedSlots.contains(slot))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public DoctorsResponse filterDoctorsByNameSpecilityandTime() {
+        return doctorService.filterDoctorsByNameSpecilityandTime("number1", "Cardiologist", "AM");
+    }
+
+    @Benchmark
+    public DoctorsResponse filterDoctorByNameAndSpecility() {
+        return doctorService.filterDoctorByNameAndSpecility("number1", "Cardiologist");
+    }
+
+    private static boolean startsWithin(Doctor doctor, LocalTime from, LocalTime to) {
+        return doctor.getAvailability().stream()
+                .anyMatch(s -> !s.getStartTime().isBefore(from) && s.getStartTime().isBefore(to));
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.DoctorCache;
+import com.project.back_end.services.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Shared test data and service wiring for the benchmarks */
+final class Fixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    static final String[] SPECIALTIES = {"Cardiologist", "Dermatologist", "Neurologist", "Pediatrician"};
+    static final String[] SLOTS = {"09:00-10:00", "10:00-11:00", "11:00-12:00", "14:00-15:00", "15:00-16:00"};
+
+    private Fixtures() {
+    }
+
+    /** A directory of doctors with ids 1..count */
+    static List<Doctor> doctors(int count) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Doctor doctor = new Doctor("Doctor Number" + i, SPECIALTIES[i % SPECIALTIES.length],
+                    "doctor" + i + "@clinic.com", "secret" + i, "9876543210", List.of(SLOTS));
+            doctor.setId((long) i);
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    /** Appointments of one patient, half in the past and half in the future */
+    static List<AppointmentDTO> appointmentDTOs(int count) {
+        LocalDateTime start = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0).minusDays(count / 2);
+        List<AppointmentDTO> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            appointments.add(new AppointmentDTO((long) i, (long) (i % 20), "Doctor Number" + (i % 20),
+                    1L, "Jane Patient", "jane@example.com", "9876543210", "1 Main Street",
+                    start.plusDays(i), 0));
+        }
+        return appointments;
+    }
+
+    /**
+     * A DoctorCache over the given repository. There is no caching proxy outside a Spring
+     * context, so only the lookups DoctorCache performs by hand (findAllById) hit the cache.
+     */
+    static DoctorCache doctorCache(DoctorRepository doctorRepository) {
+        return new DoctorCache(doctorRepository, new ConcurrentMapCacheManager(
+                DoctorCache.BY_ID, DoctorCache.BY_EMAIL, DoctorCache.QUERIES));
+    }
+
+    /**
+     * A TokenService whose repositories resolve every identifier to an existing user.
+     *
+     * @param principalCacheSize size of the principal cache; 0 disables caching
+     */
+    static TokenService tokenService(int principalCacheSize) {
+        Admin admin = new Admin("admin", "admin");
+        admin.setId(1L);
+        Doctor doctor = doctors(1).get(0);
+        Patient patient = new Patient("Jane Patient", "jane@example.com", "secret", "9876543210", "1 Main Street");
+        patient.setId(1L);
+
+        TokenService tokenService = new TokenService(
+                RepositoryStub.of(AdminRepository.class).answer("findByUsername", args -> admin).build(),
+                doctorCache(RepositoryStub.of(DoctorRepository.class).answer("findByEmail", args -> doctor).build()),
+                RepositoryStub.of(PatientRepository.class).answer("findByEmail", args -> patient).build(),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "principalCacheMaxSize", principalCacheSize);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        return tokenService;
+    }
+}
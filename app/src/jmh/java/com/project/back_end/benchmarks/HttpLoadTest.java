@@ -0,0 +1,115 @@
+package com.project.back_end.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test against a running server, used to compare the default Tomcat
+ * thread pool with the virtual-threads profile. Start the server once with and once without
+ * --spring.profiles.active=virtual-threads and run the same load against both.
+ *
+ * Settings are system properties:
+ *   load.baseUrl      server address (default http://localhost:8080)
+ *   load.token        doctor token used in the request paths (required)
+ *   load.date         appointment date (default tomorrow)
+ *   load.concurrency  requests kept in flight (default 1000)
+ *   load.duration     seconds to run after a 10 second warm-up (default 30)
+ *   load.paths        comma-separated paths; {token} and {date} are substituted. Defaults to
+ *                     the doctor's appointment list (AppointmentController) and a doctor's
+ *                     availability (DoctorController, with api.path=/api/).
+ *
+ * Only 2xx responses count as ok and only their latencies are reported, so a rejected token
+ * or a wrong path shows up as failures instead of as fast requests.
+ */
+public class HttpLoadTest {
+
+    private static final String DEFAULT_PATHS =
+            "/appointments/{date}/a/{token},/api/doctor/availability/doctor/1/{date}/{token}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        String token = System.getProperty("load.token", "");
+        if (token.isBlank()) {
+            throw new IllegalArgumentException("Set -Dload.token to a valid doctor token; without one every "
+                    + "request is rejected and the run measures the 401 path");
+        }
+        String date = System.getProperty("load.date", LocalDate.now().plusDays(1).toString());
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        int duration = Integer.getInteger("load.duration", 30);
+
+        List<URI> uris = new ArrayList<>();
+        for (String path : System.getProperty("load.paths", DEFAULT_PATHS).split(",")) {
+            uris.add(URI.create(baseUrl + path.trim().replace("{token}", token).replace("{date}", date)));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        System.out.printf("Warming up against %s with %d concurrent requests%n", baseUrl, concurrency);
+        run(client, uris, concurrency, Duration.ofSeconds(10));
+        Result result = run(client, uris, concurrency, Duration.ofSeconds(duration));
+        System.out.println(result);
+    }
+
+    private static Result run(HttpClient client, List<URI> uris, int concurrency, Duration duration)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicLong ok = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(uris.get((int) (sent++ % uris.size())))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long requestStart = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() / 100 == 2) {
+                            latencies.add(System.nanoTime() - requestStart);
+                            ok.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(ok.get(), failed.get(), elapsed, sorted);
+    }
+
+    private record Result(long ok, long failed, long elapsedNanos, long[] sortedLatencies) {
+
+        private double percentileMillis(double p) {
+            if (sortedLatencies.length == 0) return 0;
+            int i = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(i, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return String.format("requests: %d ok, %d failed in %.1f s%nthroughput: %.0f req/s%n"
+                            + "latency: p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    ok, failed, seconds, (ok + failed) / seconds,
+                    percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
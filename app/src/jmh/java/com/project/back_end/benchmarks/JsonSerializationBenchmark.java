@@ -0,0 +1,89 @@
+package com.project.back_end.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.project.back_end.DTO.AppointmentsResponse;
+import com.project.back_end.DTO.AvailabilityResponse;
+import com.project.back_end.DTO.DoctorsResponse;
+import com.project.back_end.DTO.MessageResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the controller response payloads, using an ObjectMapper configured
+ * the way Spring Boot configures the one behind the REST controllers (with JacksonConfig's
+ * Blackbird module). appointmentsMap is the Map payload the records replaced, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter appointmentsWriter;
+    private MessageResponse message;
+    private AvailabilityResponse availability;
+    private AppointmentsResponse appointments;
+    private DoctorsResponse doctors;
+    private Map<String, Object> appointmentsMap;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        appointmentsWriter = objectMapper.writerFor(AppointmentsResponse.class);
+        message = new MessageResponse("Appointment booked successfully");
+        availability = new AvailabilityResponse(List.of("09:00", "11:00", "14:00", "16:00"));
+        appointments = AppointmentsResponse.of(Fixtures.appointmentDTOs(50));
+        doctors = DoctorsResponse.of(Fixtures.doctors(50));
+        appointmentsMap = Map.of("appointments", Fixtures.appointmentDTOs(50));
+    }
+
+    @Benchmark
+    public byte[] messageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] availabilityResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(availability);
+    }
+
+    @Benchmark
+    public byte[] appointmentsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] appointmentsResponsePrebuiltWriter() throws JsonProcessingException {
+        return appointmentsWriter.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] appointmentsMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointmentsMap);
+    }
+
+    @Benchmark
+    public byte[] doctorsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctors);
+    }
+}
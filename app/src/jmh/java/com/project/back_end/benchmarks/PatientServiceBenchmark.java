@@ -0,0 +1,93 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.services.PatientService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * AppointmentDTO mapping on the patient dashboard paths.
+ *
+ * projectDTOs measures building the DTOs from result rows, which is what the JPQL
+ * constructor expressions do per row; the service benchmarks measure the work done on
+ * top of the (stubbed) repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientServiceBenchmark {
+
+    @Param({"20", "500"})
+    public int appointmentCount;
+
+    private PatientService patientService;
+    private AuthenticatedPrincipal principal;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        List<AppointmentDTO> appointments = Fixtures.appointmentDTOs(appointmentCount);
+        rows = new ArrayList<>(appointments.size());
+        for (AppointmentDTO a : appointments) {
+            rows.add(new Object[] {a.getId(), a.getDoctorId(), a.getDoctorName(), a.getPatientId(), a.getPatientName(),
+                    a.getPatientEmail(), a.getPatientPhone(), a.getPatientAddress(), a.getAppointmentTime(), a.getStatus()});
+        }
+
+        AppointmentRepository appointmentRepository = RepositoryStub.of(AppointmentRepository.class)
+                .answer("findAppointmentDTOsByPatientId", args -> appointments)
+                .answer("findUpcomingAppointmentDTOs", args -> appointments.stream()
+                        .filter(a -> a.getAppointmentTime().isAfter((LocalDateTime) args[1]))
+                        .limit(((Limit) args[3]).isLimited() ? ((Limit) args[3]).max() : Long.MAX_VALUE)
+                        .collect(Collectors.toList()))
+                .build();
+
+        patientService = new PatientService();
+        ReflectionTestUtils.setField(patientService, "appointmentRepository", appointmentRepository);
+        principal = new AuthenticatedPrincipal(1L, "jane@example.com", "patient", new Date(Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> projectDTOs() {
+        List<AppointmentDTO> dtos = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            dtos.add(new AppointmentDTO((Long) r[0], (Long) r[1], (String) r[2], (Long) r[3], (String) r[4],
+                    (String) r[5], (String) r[6], (String) r[7], (LocalDateTime) r[8], (Integer) r[9]));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getPatientAppointment() {
+        return patientService.getPatientAppointment(1L, principal);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> filterUpcomingPage() {
+        return patientService.filterByCondition("future", 1L, null, null, 20);
+    }
+}
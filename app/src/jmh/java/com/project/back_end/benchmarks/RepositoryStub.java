@@ -0,0 +1,52 @@
+package com.project.back_end.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-in for a Spring Data repository interface.
+ *
+ * Only the methods registered with {@link #answer} are implemented; any other call fails,
+ * so a benchmark cannot silently measure a path it did not set up.
+ */
+final class RepositoryStub<T> {
+
+    private final Class<T> type;
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+    private RepositoryStub(Class<T> type) {
+        this.type = type;
+    }
+
+    static <T> RepositoryStub<T> of(Class<T> type) {
+        return new RepositoryStub<>(type);
+    }
+
+    /** Answer every call of the named method with the given function of its arguments */
+    RepositoryStub<T> answer(String method, Function<Object[], Object> answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    T build() {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                    return answer.apply(args);
+            }
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.services.TokenService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation.
+ *
+ * multiParsePerRequest reproduces the request path before principals were resolved once
+ * (validate, then parse again to read the identity); singleParsePerRequest is the same
+ * request with a cold principal cache, cachedPrincipal with a warm one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService uncached;
+    private TokenService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = Fixtures.tokenService(0);
+        cached = Fixtures.tokenService(10_000);
+        token = uncached.generateToken("doctor1@clinic.com", "doctor");
+        cached.resolvePrincipal(token, "doctor");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken("doctor1@clinic.com", "doctor");
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token, "doctor");
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token, "doctor");
+    }
+
+    @Benchmark
+    public void multiParsePerRequest(Blackhole bh) {
+        bh.consume(uncached.validateToken(token, "doctor"));
+        bh.consume(uncached.extractIdentifier(token));
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal singleParsePerRequest() {
+        return uncached.resolvePrincipal(token, "doctor");
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal cachedPrincipal() {
+        return cached.resolvePrincipal(token, "doctor");
+    }
+}
@@ -12,6 +12,7 @@ public class AppointmentDTO {
     private final String patientAddress;
     private final LocalDateTime appointmentTime;
     private final int status;
+    private final Long version;
 
     // Computed fields
     private final LocalDate appointmentDate;
@@ -25,6 +26,18 @@ public class AppointmentDTO {
                           Long patientId, String patientName, String patientEmail,
                           String patientPhone, String patientAddress,
                           LocalDateTime appointmentTime, int status) {
+        this(id, doctorId, doctorName, patientId, patientName, patientEmail, patientPhone, patientAddress,
+                appointmentTime, status, null);
+    }
+
+    /**
+     * Constructor also carrying the optimistic-lock version, which a client sends back
+     * with an update so a concurrent edit is detected.
+     */
+    public AppointmentDTO(Long id, Long doctorId, String doctorName,
+                          Long patientId, String patientName, String patientEmail,
+                          String patientPhone, String patientAddress,
+                          LocalDateTime appointmentTime, int status, Long version) {
 
         this.id = id;
         this.doctorId = doctorId;
@@ -36,6 +49,7 @@ public class AppointmentDTO {
         this.patientAddress = patientAddress;
         this.appointmentTime = appointmentTime;
         this.status = status;
+        this.version = version;
 
         // Computed fields
         this.appointmentDate = appointmentTime.toLocalDate();
@@ -87,6 +101,10 @@ public class AppointmentDTO {
         return status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public LocalDate getAppointmentDate() {
         return appointmentDate;
     }
@@ -0,0 +1,19 @@
+package com.project.back_end.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A list of appointments.
+ *
+ * @param nextCursor   cursor of the next page, when the list is a full page
+ * @param queriesSaved doctor dashboard searches answered without a database query
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AppointmentsResponse(List<AppointmentDTO> appointments, PageCursor nextCursor, Long queriesSaved) {
+
+    public static AppointmentsResponse of(List<AppointmentDTO> appointments) {
+        return new AppointmentsResponse(appointments, null, null);
+    }
+}
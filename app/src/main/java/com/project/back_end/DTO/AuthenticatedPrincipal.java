@@ -0,0 +1,42 @@
+package com.project.back_end.DTO;
+
+import java.util.Date;
+
+/**
+ * Identity resolved from a JWT.
+ * Built once per request by TokenService and handed to services instead of the raw token.
+ */
+public class AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email; // Email, or username for admins
+    private final String role;
+    private final Date expiry;
+
+    public AuthenticatedPrincipal(Long id, String email, String role, Date expiry) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.expiry = expiry;
+    }
+
+    // =======================
+    // Standard getters
+    // =======================
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Date getExpiry() {
+        return expiry;
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.back_end.DTO;
+
+import java.util.List;
+
+/**
+ * A doctor's free slots on one day, as "HH:mm" start times.
+ */
+public record AvailabilityResponse(List<String> availability) {
+}
@@ -0,0 +1,21 @@
+package com.project.back_end.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk prescription upload, with one result per submitted prescription.
+ */
+public record BulkPrescriptionResponse(int saved, int failed, List<Item> results) {
+
+    /**
+     * @param index   position of the prescription in the request
+     * @param status  saved, invalid or failed
+     * @param id      id of the saved prescription
+     * @param message why the prescription was not saved
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, String status, String id, String message) {
+    }
+}
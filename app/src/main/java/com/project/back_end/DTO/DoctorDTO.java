@@ -0,0 +1,17 @@
+package com.project.back_end.DTO;
+
+import com.project.back_end.models.Doctor;
+
+import java.util.List;
+
+/**
+ * The public view of a doctor, as listed and filtered by the doctor endpoints.
+ */
+public record DoctorDTO(Long id, String name, String specialty, String email, String phone,
+                        List<String> availableTimes) {
+
+    public static DoctorDTO from(Doctor doctor) {
+        return new DoctorDTO(doctor.getId(), doctor.getName(), doctor.getSpecialty(), doctor.getEmail(),
+                doctor.getPhone(), doctor.getAvailableTimes());
+    }
+}
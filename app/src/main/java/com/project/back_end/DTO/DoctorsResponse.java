@@ -0,0 +1,19 @@
+package com.project.back_end.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.back_end.models.Doctor;
+
+import java.util.List;
+
+/**
+ * A list of doctors.
+ *
+ * @param nextCursor id to pass as after for the next page, when the list is a full page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DoctorsResponse(List<DoctorDTO> doctors, Long nextCursor) {
+
+    public static DoctorsResponse of(List<Doctor> doctors) {
+        return new DoctorsResponse(doctors.stream().map(DoctorDTO::from).toList(), null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.back_end.DTO;
+
+/**
+ * Response carrying only a message, used for confirmations and errors.
+ */
+public record MessageResponse(String message) {
+}
@@ -0,0 +1,9 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset cursor of an appointment page: pass both values back to get the next page.
+ */
+public record PageCursor(LocalDateTime cursorTime, Long cursorId) {
+}
@@ -0,0 +1,14 @@
+package com.project.back_end.DTO;
+
+import com.project.back_end.models.Patient;
+
+/**
+ * The details of a patient shown back to them; never includes the password.
+ */
+public record PatientDTO(Long id, String name, String email, String phone, String address) {
+
+    public static PatientDTO from(Patient patient) {
+        return new PatientDTO(patient.getId(), patient.getName(), patient.getEmail(), patient.getPhone(),
+                patient.getAddress());
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.back_end.DTO;
+
+/**
+ * Response carrying the authenticated patient's details.
+ */
+public record PatientResponse(PatientDTO patient) {
+}
@@ -0,0 +1,11 @@
+package com.project.back_end.DTO;
+
+import java.util.List;
+
+/**
+ * One page of a patient's prescription history, most recent appointment first.
+ *
+ * @param total number of prescriptions in the whole history
+ */
+public record PrescriptionHistoryResponse(int page, int size, int total, List<PrescriptionSummary> prescriptions) {
+}
@@ -0,0 +1,10 @@
+package com.project.back_end.DTO;
+
+/**
+ * The fields of a prescription shown on the doctor dashboard and in a patient's history.
+ * DTO projection of Prescription; see PrescriptionRepository.findSummariesByAppointmentId.
+ * Being a record, rows are read straight into it rather than through a projection proxy.
+ */
+public record PrescriptionSummary(Long appointmentId, String patientName, String medication, String dosage,
+                                  String doctorNotes) {
+}
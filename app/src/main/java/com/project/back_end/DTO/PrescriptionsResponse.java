@@ -0,0 +1,9 @@
+package com.project.back_end.DTO;
+
+import java.util.List;
+
+/**
+ * A list of prescriptions, either full documents or dashboard summaries.
+ */
+public record PrescriptionsResponse<T>(List<T> prescriptions) {
+}
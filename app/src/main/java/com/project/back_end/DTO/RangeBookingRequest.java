@@ -0,0 +1,135 @@
+package com.project.back_end.DTO;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Request to book a doctor's slots for one patient across a date range.
+ *
+ * The slots are every time in {@code times} on each date from {@code startDate} to
+ * {@code endDate} (inclusive) selected by the recurrence: DAILY takes every
+ * {@code interval}-th day; WEEKLY takes the {@code daysOfWeek} (default: the start
+ * date's weekday) of every {@code interval}-th week.
+ */
+public class RangeBookingRequest {
+
+    public enum Frequency { DAILY, WEEKLY }
+
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<LocalTime> times;
+    private Frequency frequency = Frequency.DAILY;
+    private int interval = 1;
+    private Set<DayOfWeek> daysOfWeek;
+
+    // Default constructor
+    public RangeBookingRequest() {
+    }
+
+    /**
+     * Expand the range and recurrence into slot start times, in chronological order.
+     *
+     * @param maxSlots stop after this many slots
+     */
+    public List<LocalDateTime> slots(int maxSlots) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        List<LocalTime> sortedTimes = times.stream().distinct().sorted().toList();
+        int step = Math.max(interval, 1);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!matches(date, step)) continue;
+            for (LocalTime time : sortedTimes) {
+                if (slots.size() == maxSlots) return slots;
+                slots.add(date.atTime(time));
+            }
+        }
+        return slots;
+    }
+
+    private boolean matches(LocalDate date, int step) {
+        if (frequency == Frequency.DAILY) {
+            return ChronoUnit.DAYS.between(startDate, date) % step == 0;
+        }
+        long weeks = ChronoUnit.WEEKS.between(
+                startDate.with(DayOfWeek.MONDAY), date.with(DayOfWeek.MONDAY));
+        boolean dayMatches = daysOfWeek == null || daysOfWeek.isEmpty()
+                ? date.getDayOfWeek() == startDate.getDayOfWeek()
+                : daysOfWeek.contains(date.getDayOfWeek());
+        return weeks % step == 0 && dayMatches;
+    }
+
+    // =======================
+    // Getters and Setters
+    // =======================
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<LocalTime> getTimes() {
+        return times;
+    }
+
+    public void setTimes(List<LocalTime> times) {
+        this.times = times;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+}
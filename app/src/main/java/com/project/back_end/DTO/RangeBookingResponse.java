@@ -0,0 +1,16 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of a range booking, with one result per slot of the range.
+ */
+public record RangeBookingResponse(int booked, int rejected, List<Slot> results) {
+
+    /**
+     * @param status booked, unavailable, not_offered or past
+     */
+    public record Slot(LocalDateTime appointmentTime, String status) {
+    }
+}
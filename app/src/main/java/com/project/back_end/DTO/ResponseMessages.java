@@ -0,0 +1,20 @@
+package com.project.back_end.DTO;
+
+/**
+ * Messages returned by more than one endpoint.
+ * Kept in one place so every endpoint words the same outcome the same way.
+ */
+public final class ResponseMessages {
+
+    public static final String INVALID_TOKEN = "Invalid or expired token";
+    public static final String UNAUTHORIZED_ACCESS = "Unauthorized access";
+    public static final String INTERNAL_ERROR = "Some internal error occurred";
+    public static final String SLOT_NOT_AVAILABLE = "Appointment time not available";
+    public static final String DOCTOR_NOT_FOUND = "Doctor not found";
+    public static final String PATIENT_NOT_FOUND = "Patient not found";
+    public static final String APPOINTMENT_NOT_FOUND = "Appointment not found";
+    public static final String INVALID_CREDENTIALS = "Invalid email or password";
+
+    private ResponseMessages() {
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.back_end.DTO;
+
+/**
+ * Response to a successful login.
+ */
+public record TokenResponse(String token) {
+}
@@ -0,0 +1,13 @@
+package com.project.back_end.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's caching annotations.
+ * The caches themselves (Caffeine, bounded by size and TTL) are configured in application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,24 @@
+package com.project.back_end.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serialization of the REST response records.
+ *
+ * Spring Boot registers Module beans with the ObjectMapper behind the controllers. Blackbird
+ * replaces the reflective accessor calls of bean serializers with generated lambdas; the
+ * serializers of the response records themselves are built at startup by
+ * ResponseSerializerWarmup.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.back_end.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics beyond what Spring Boot records on its own.
+ *
+ * Spring Boot already times every controller endpoint (http.server.requests), every
+ * repository method (spring.data.repository.invocations), every Mongo command
+ * (mongodb.driver.commands) and the connection pools. The aspect below adds a
+ * clinic.service timer for each method of the classes annotated with @Timed, and the
+ * statement inspector behind the per-request SQL statement counts (QueryBudgetFilter).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.back_end.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request executes, records them in the
+ * clinic.request.statements summary and logs the requests that exceed the query budget,
+ * which is how N+1 query patterns show up.
+ */
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Value("${clinic.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${clinic.query-budget.max-statements:10}")
+    private int maxStatements;
+
+    private final DistributionSummary statementsPerRequest;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry) {
+        this.statementsPerRequest = DistributionSummary.builder("clinic.request.statements")
+                .description("SQL statements executed per HTTP request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.start(false);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop(scope);
+            int count = scope.getCount();
+            statementsPerRequest.record(count);
+            if (count > maxStatements) {
+                log.warn("{} {} executed {} SQL statements (budget {})",
+                        request.getMethod(), request.getRequestURI(), count, maxStatements);
+            }
+        }
+    }
+}
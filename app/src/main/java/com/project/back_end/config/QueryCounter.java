@@ -0,0 +1,71 @@
+package com.project.back_end.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's statement inspector, so every statement is seen, including
+ * lazy loads and collection fetches. Counting only happens between {@link #start} and
+ * {@link #stop}; scopes nest, and a statement counts towards every open scope.
+ * Statements run on other threads (streamed or async responses) are not attributed to
+ * the request that started them.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /** Open a counting scope on the current thread; captureSql keeps the statements themselves */
+    public static Scope start(boolean captureSql) {
+        Scope scope = new Scope(CURRENT.get(), captureSql);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** Close a scope opened by {@link #start}, restoring the enclosing one */
+    public static void stop(Scope scope) {
+        if (scope.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope.parent);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    /** Statements counted between start and stop */
+    public static final class Scope {
+
+        private final Scope parent;
+        private final List<String> statements;
+        private int count;
+
+        private Scope(Scope parent, boolean captureSql) {
+            this.parent = parent;
+            this.statements = captureSql ? new ArrayList<>() : null;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (statements != null) statements.add(sql);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /** The statements in execution order, or an empty list if they were not captured */
+        public List<String> getStatements() {
+            return statements == null ? List.of() : List.copyOf(statements);
+        }
+    }
+}
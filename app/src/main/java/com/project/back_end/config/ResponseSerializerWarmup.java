@@ -0,0 +1,46 @@
+package com.project.back_end.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentsResponse;
+import com.project.back_end.DTO.AvailabilityResponse;
+import com.project.back_end.DTO.BulkPrescriptionResponse;
+import com.project.back_end.DTO.DoctorDTO;
+import com.project.back_end.DTO.DoctorsResponse;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.PatientResponse;
+import com.project.back_end.DTO.PrescriptionHistoryResponse;
+import com.project.back_end.DTO.PrescriptionsResponse;
+import com.project.back_end.DTO.RangeBookingResponse;
+import com.project.back_end.DTO.TokenResponse;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the serializers of the REST response records when the application starts.
+ * Jackson caches a serializer per type once built, so the first request to each endpoint
+ * does not pay for introspecting its payload.
+ */
+@Component
+public class ResponseSerializerWarmup {
+
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(
+            MessageResponse.class, TokenResponse.class, AppointmentsResponse.class, AvailabilityResponse.class,
+            DoctorsResponse.class, DoctorDTO.class, PatientResponse.class, PrescriptionsResponse.class,
+            PrescriptionHistoryResponse.class, BulkPrescriptionResponse.class, RangeBookingResponse.class);
+
+    private final ObjectMapper objectMapper;
+
+    public ResponseSerializerWarmup(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        // canSerialize builds the serializer and leaves it in the mapper's cache
+        RESPONSE_TYPES.forEach(objectMapper::canSerialize);
+    }
+}
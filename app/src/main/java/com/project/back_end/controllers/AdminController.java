@@ -17,7 +17,7 @@ public class AdminController {
      * Accepts Admin credentials and returns a JWT token if valid
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> adminLogin(@RequestBody Admin admin) {
+    public ResponseEntity<?> adminLogin(@RequestBody Admin admin) {
         // Delegates the validation and token generation to Service
         return service.validateAdmin(admin);
     }
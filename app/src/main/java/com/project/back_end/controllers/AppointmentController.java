@@ -5,12 +5,18 @@ package com.project.back_end.controllers;
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    private static final MessageResponse INVALID_TOKEN = new MessageResponse(ResponseMessages.INVALID_TOKEN);
+    private static final MessageResponse SLOT_NOT_AVAILABLE = new MessageResponse(ResponseMessages.SLOT_NOT_AVAILABLE);
+
     private final AppointmentService appointmentService;
+    private final BookingCoordinator bookingCoordinator;
     private final Service service;
 
     @Autowired
-    public AppointmentController(AppointmentService appointmentService, Service service) {
+    public AppointmentController(AppointmentService appointmentService, BookingCoordinator bookingCoordinator,
+                                 Service service) {
         this.appointmentService = appointmentService;
+        this.bookingCoordinator = bookingCoordinator;
         this.service = service;
     }
 
@@ -18,72 +24,104 @@ public class AppointmentController {
      * Retrieve appointments for a doctor on a specific date, optionally filtered by patient name
      */
     @GetMapping("/{date}/{patientName}/{token}")
-    public ResponseEntity<Map<String, Object>> getAppointments(
+    public ResponseEntity<?> getAppointments(
             @PathVariable String date,
             @PathVariable String patientName,
             @PathVariable String token
     ) {
-        // Validate token for doctor
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "doctor");
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
+        // Resolve the doctor behind the token
+        AuthenticatedPrincipal principal = service.resolvePrincipal(token, "doctor");
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         // Fetch appointments
         LocalDate appointmentDate = LocalDate.parse(date);
-        Map<String, Object> appointments = appointmentService.getAppointment(patientName, appointmentDate, token);
+        AppointmentsResponse appointments = appointmentService.getAppointment(patientName, appointmentDate, principal);
         return ResponseEntity.ok(appointments);
     }
 
     /**
-     * Book a new appointment
+     * Book a new appointment.
+     * The booking is queued on its doctor's writer thread and the response is sent once it
+     * has been decided, without holding a request thread in the meantime.
      */
     @PostMapping("/{token}")
-    public ResponseEntity<Map<String, String>> bookAppointment(
+    public CompletableFuture<ResponseEntity<MessageResponse>> bookAppointment(
             @RequestBody Appointment appointment,
             @PathVariable String token
     ) {
         // Validate token for patient
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "patient");
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(INVALID_TOKEN));
         }
 
-        // Validate appointment availability
+        // Cheap in-memory pre-check; the booking pipeline is what actually claims the slot
         int validation = service.validateAppointment(appointment);
         if (validation == -1) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("message", "Doctor does not exist"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("Doctor does not exist")));
         } else if (validation == 0) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("message", "Appointment time not available"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(SLOT_NOT_AVAILABLE));
+        }
+
+        CompletableFuture<Integer> booking;
+        try {
+            booking = bookingCoordinator.submit(appointment);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse("Too many bookings in progress, please retry")));
         }
 
-        int result = appointmentService.bookAppointment(appointment);
-        if (result == 1) {
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of("message", "Appointment booked successfully"));
-        } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Error booking appointment"));
+        return booking.thenApply(result -> {
+            if (result == 1) {
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new MessageResponse("Appointment booked successfully"));
+            } else if (result == -1) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(SLOT_NOT_AVAILABLE);
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new MessageResponse("Error booking appointment"));
+            }
+        });
+    }
+
+    /**
+     * Book a doctor's slots for one patient across a date range and recurrence (admin only)
+     */
+    @PostMapping("/range/{token}")
+    public ResponseEntity<?> bookRange(
+            @RequestBody RangeBookingRequest request,
+            @PathVariable String token
+    ) {
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "admin");
+        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(INVALID_TOKEN);
         }
+
+        return appointmentService.bookRange(request);
     }
 
     /**
      * Update an existing appointment
      */
     @PutMapping("/{token}")
-    public ResponseEntity<Map<String, String>> updateAppointment(
+    public ResponseEntity<MessageResponse> updateAppointment(
             @RequestBody Appointment appointment,
             @PathVariable String token
     ) {
         // Validate token for patient
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "patient");
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         // Update appointment
@@ -94,18 +132,18 @@ public class AppointmentController {
      * Cancel an appointment
      */
     @DeleteMapping("/{id}/{token}")
-    public ResponseEntity<Map<String, String>> cancelAppointment(
+    public ResponseEntity<MessageResponse> cancelAppointment(
             @PathVariable Long id,
             @PathVariable String token
     ) {
-        // Validate token for patient
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "patient");
-        if (tokenValidation.getStatusCode() != HttpStatus.OK) {
+        // Resolve the patient behind the token
+        AuthenticatedPrincipal principal = service.resolvePrincipal(token, "patient");
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         // Cancel appointment
-        return appointmentService.cancelAppointment(id, token);
+        return appointmentService.cancelAppointment(id, principal);
     }
 }
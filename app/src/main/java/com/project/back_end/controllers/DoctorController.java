@@ -5,69 +5,103 @@ package com.project.back_end.controllers;
 @RequestMapping("${api.path}doctor")
 public class DoctorController {
 
+    private static final MessageResponse INVALID_TOKEN = new MessageResponse(ResponseMessages.INVALID_TOKEN);
+    private static final MessageResponse UNAUTHORIZED = new MessageResponse(ResponseMessages.UNAUTHORIZED_ACCESS);
+    private static final MessageResponse INTERNAL_ERROR = new MessageResponse(ResponseMessages.INTERNAL_ERROR);
+
     private final DoctorService doctorService;
     private final Service service;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public DoctorController(DoctorService doctorService, Service service) {
+    public DoctorController(DoctorService doctorService, Service service, ObjectMapper objectMapper) {
         this.doctorService = doctorService;
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get a doctor's available slots on a specific date
      */
     @GetMapping("/availability/{user}/{doctorId}/{date}/{token}")
-    public ResponseEntity<Map<String, Object>> getDoctorAvailability(
+    public ResponseEntity<?> getDoctorAvailability(
             @PathVariable String user,
             @PathVariable Long doctorId,
             @PathVariable String date,
             @PathVariable String token
     ) {
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, user);
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, user);
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         LocalDate appointmentDate = LocalDate.parse(date);
         List<String> availability = doctorService.getDoctorAvailability(doctorId, appointmentDate);
-        return ResponseEntity.ok(Map.of("availability", availability));
+        return ResponseEntity.ok(new AvailabilityResponse(availability));
     }
 
     /**
-     * Retrieve the list of all doctors
+     * Retrieve the list of all doctors.
+     * The JSON array is streamed one keyset page at a time, so memory per request stays constant.
      */
     @GetMapping
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
-        List<Doctor> doctors = doctorService.getDoctors();
-        return ResponseEntity.ok(doctors);
+    public ResponseEntity<StreamingResponseBody> getAllDoctors() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartArray();
+                long afterId = 0L;
+                List<Doctor> page;
+                do {
+                    page = doctorService.getDoctors(afterId, DoctorService.MAX_PAGE_SIZE);
+                    for (Doctor doctor : page) {
+                        json.writeObject(DoctorDTO.from(doctor));
+                        afterId = doctor.getId();
+                    }
+                    json.flush();
+                } while (page.size() == DoctorService.MAX_PAGE_SIZE);
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Retrieve one keyset page of doctors.
+     * Pass the nextCursor of the previous response as after to get the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<DoctorsResponse> getDoctorPage(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(doctorService.getDoctorPage(after, limit));
     }
 
     /**
      * Add a new doctor (admin only)
      */
     @PostMapping("/{token}")
-    public ResponseEntity<Map<String, String>> addDoctor(
+    public ResponseEntity<MessageResponse> addDoctor(
             @RequestBody Doctor doctor,
             @PathVariable String token
     ) {
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "admin");
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Unauthorized access"));
+                    .body(UNAUTHORIZED);
         }
 
         int result = doctorService.saveDoctor(doctor);
         if (result == 1) {
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of("message", "Doctor added to db"));
+                    .body(new MessageResponse("Doctor added to db"));
         } else if (result == -1) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("message", "Doctor already exists"));
+                    .body(new MessageResponse("Doctor already exists"));
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Some internal error occurred"));
+                    .body(INTERNAL_ERROR);
         }
     }
 
@@ -75,7 +109,7 @@ public class DoctorController {
      * Doctor login
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> loginDoctor(@RequestBody Login login) {
+    public ResponseEntity<?> loginDoctor(@RequestBody Login login) {
         return doctorService.validateDoctor(login);
     }
 
@@ -83,25 +117,25 @@ public class DoctorController {
      * Update doctor details (admin only)
      */
     @PutMapping("/{token}")
-    public ResponseEntity<Map<String, String>> updateDoctor(
+    public ResponseEntity<MessageResponse> updateDoctor(
             @RequestBody Doctor doctor,
             @PathVariable String token
     ) {
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "admin");
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Unauthorized access"));
+                    .body(UNAUTHORIZED);
         }
 
         int result = doctorService.updateDoctor(doctor);
         if (result == 1) {
-            return ResponseEntity.ok(Map.of("message", "Doctor updated"));
+            return ResponseEntity.ok(new MessageResponse("Doctor updated"));
         } else if (result == -1) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("message", "Doctor not found"));
+                    .body(new MessageResponse(ResponseMessages.DOCTOR_NOT_FOUND));
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Some internal error occurred"));
+                    .body(INTERNAL_ERROR);
         }
     }
 
@@ -109,25 +143,25 @@ public class DoctorController {
      * Delete a doctor (admin only)
      */
     @DeleteMapping("/{id}/{token}")
-    public ResponseEntity<Map<String, String>> deleteDoctor(
+    public ResponseEntity<MessageResponse> deleteDoctor(
             @PathVariable Long id,
             @PathVariable String token
     ) {
-        ResponseEntity<Map<String, String>> tokenValidation = service.validateToken(token, "admin");
+        ResponseEntity<MessageResponse> tokenValidation = service.validateToken(token, "admin");
         if (tokenValidation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Unauthorized access"));
+                    .body(UNAUTHORIZED);
         }
 
         int result = doctorService.deleteDoctor(id);
         if (result == 1) {
-            return ResponseEntity.ok(Map.of("message", "Doctor deleted successfully"));
+            return ResponseEntity.ok(new MessageResponse("Doctor deleted successfully"));
         } else if (result == -1) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("message", "Doctor not found with id"));
+                    .body(new MessageResponse("Doctor not found with id"));
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Some internal error occurred"));
+                    .body(INTERNAL_ERROR);
         }
     }
 
@@ -135,12 +169,12 @@ public class DoctorController {
      * Filter doctors by name, available time, and specialty
      */
     @GetMapping("/filter/{name}/{time}/{speciality}")
-    public ResponseEntity<Map<String, Object>> filterDoctors(
+    public ResponseEntity<DoctorsResponse> filterDoctors(
             @PathVariable String name,
             @PathVariable String time,
             @PathVariable String speciality
     ) {
-        Map<String, Object> filtered = service.filterDoctor(name, speciality, time);
+        DoctorsResponse filtered = service.filterDoctor(name, speciality, time);
         return ResponseEntity.ok(filtered);
     }
 }
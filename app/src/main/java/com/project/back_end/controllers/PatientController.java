@@ -4,6 +4,8 @@ package com.project.back_end.controllers;
 @RequestMapping("/patient")
 public class PatientController {
 
+    private static final MessageResponse INVALID_TOKEN = new MessageResponse(ResponseMessages.INVALID_TOKEN);
+
     private final PatientService patientService;
     private final Service service;
 
@@ -17,32 +19,32 @@ public class PatientController {
      * Get patient details based on JWT token
      */
     @GetMapping("/{token}")
-    public ResponseEntity<Map<String, Object>> getPatientDetails(@PathVariable String token) {
-        var validation = service.validateToken(token, "patient");
-        if (validation.getStatusCode() != HttpStatus.OK) {
+    public ResponseEntity<?> getPatientDetails(@PathVariable String token) {
+        var principal = service.resolvePrincipal(token, "patient");
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
-        return patientService.getPatientDetails(token);
+        return patientService.getPatientDetails(principal);
     }
 
     /**
      * Create a new patient
      */
     @PostMapping
-    public ResponseEntity<Map<String, String>> createPatient(@RequestBody Patient patient) {
+    public ResponseEntity<MessageResponse> createPatient(@RequestBody Patient patient) {
         boolean valid = service.validatePatient(patient);
         if (!valid) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("message", "Patient with email id or phone no already exist"));
+                    .body(new MessageResponse("Patient with email id or phone no already exist"));
         }
         int result = patientService.createPatient(patient);
         if (result == 1) {
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of("message", "Signup successful"));
+                    .body(new MessageResponse("Signup successful"));
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Internal server error"));
+                    .body(new MessageResponse("Internal server error"));
         }
     }
 
@@ -50,7 +52,7 @@ public class PatientController {
      * Patient login
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> loginPatient(@RequestBody Login login) {
+    public ResponseEntity<?> loginPatient(@RequestBody Login login) {
         return service.validatePatientLogin(login);
     }
 
@@ -58,32 +60,36 @@ public class PatientController {
      * Get all appointments for a patient
      */
     @GetMapping("/{id}/{token}")
-    public ResponseEntity<Map<String, Object>> getPatientAppointments(
+    public ResponseEntity<?> getPatientAppointments(
             @PathVariable Long id,
             @PathVariable String token
     ) {
-        var validation = service.validateToken(token, "patient");
-        if (validation.getStatusCode() != HttpStatus.OK) {
+        var principal = service.resolvePrincipal(token, "patient");
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
-        return patientService.getPatientAppointment(id, token);
+        return patientService.getPatientAppointment(id, principal);
     }
 
     /**
-     * Filter patient appointments by condition and doctor
+     * Filter patient appointments by condition and doctor.
+     * Pass limit (and the nextCursor of the previous response) to page through past/future appointments.
      */
     @GetMapping("/filter/{condition}/{name}/{token}")
-    public ResponseEntity<Map<String, Object>> filterPatientAppointments(
+    public ResponseEntity<?> filterPatientAppointments(
             @PathVariable String condition,
             @PathVariable String name,
-            @PathVariable String token
+            @PathVariable String token,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "0") int limit
     ) {
-        var validation = service.validateToken(token, "patient");
-        if (validation.getStatusCode() != HttpStatus.OK) {
+        var principal = service.resolvePrincipal(token, "patient");
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
-        return service.filterPatient(condition, name, token);
+        return service.filterPatient(condition, name, principal, cursorTime, cursorId, limit);
     }
 }
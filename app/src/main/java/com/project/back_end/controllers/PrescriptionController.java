@@ -4,44 +4,151 @@ package com.project.back_end.controllers;
 @RequestMapping("${api.path}" + "prescription")
 public class PrescriptionController {
 
+    private static final MessageResponse INVALID_TOKEN = new MessageResponse(ResponseMessages.INVALID_TOKEN);
+
     private final PrescriptionService prescriptionService;
     private final Service service;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService, Service service) {
+    public PrescriptionController(PrescriptionService prescriptionService, Service service,
+                                  ObjectMapper objectMapper) {
         this.prescriptionService = prescriptionService;
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Save a prescription
      */
     @PostMapping("/{token}")
-    public ResponseEntity<Map<String, String>> savePrescription(
+    public ResponseEntity<MessageResponse> savePrescription(
             @PathVariable String token,
             @RequestBody Prescription prescription
     ) {
         var validation = service.validateToken(token, "doctor");
         if (validation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         return prescriptionService.savePrescription(prescription);
     }
 
+    /**
+     * Save a JSON array of prescriptions, reporting a status per item
+     */
+    @PostMapping(value = "/bulk/{token}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> savePrescriptions(
+            @PathVariable String token,
+            @RequestBody List<Prescription> prescriptions
+    ) {
+        var validation = service.validateToken(token, "doctor");
+        if (validation.getStatusCode() != HttpStatus.OK) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(INVALID_TOKEN);
+        }
+
+        return prescriptionService.savePrescriptions(prescriptions.iterator());
+    }
+
+    /**
+     * Save a stream of newline-delimited JSON prescriptions, read and written batch by batch.
+     * A line that is not a valid prescription is reported as invalid, with its line number,
+     * and the remaining lines are still saved.
+     */
+    @PostMapping(value = "/bulk/{token}", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> streamPrescriptions(
+            @PathVariable String token,
+            InputStream body
+    ) throws IOException {
+        var validation = service.validateToken(token, "doctor");
+        if (validation.getStatusCode() != HttpStatus.OK) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(INVALID_TOKEN);
+        }
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return prescriptionService.saveItems(new NdjsonItems(lines, objectMapper.readerFor(Prescription.class)));
+        }
+    }
+
+    /** Reads one bulk item per non-blank line, turning a line that does not parse into an unreadable item */
+    private static final class NdjsonItems implements Iterator<PrescriptionService.BulkItem> {
+
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+        private String nextLine;
+        private int lineNumber;
+
+        private NdjsonItems(BufferedReader lines, ObjectReader reader) {
+            this.lines = lines;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = lines.readLine();
+                    if (line == null) return false;
+                    lineNumber++;
+                    if (!line.isBlank()) nextLine = line;
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public PrescriptionService.BulkItem next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return PrescriptionService.BulkItem.of(reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return PrescriptionService.BulkItem.unreadable("Line " + lineNumber + ": " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Get one page of a patient's prescription history.
+     * Doctors may read any patient's history; patients only their own.
+     */
+    @GetMapping("/history/{patientId}/{token}")
+    public ResponseEntity<?> getPatientHistory(
+            @PathVariable Long patientId,
+            @PathVariable String token,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        AuthenticatedPrincipal principal = service.resolvePrincipal(token, "doctor");
+        if (principal == null) {
+            principal = service.resolvePrincipal(token, "patient");
+            if (principal == null || !principal.getId().equals(patientId)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(INVALID_TOKEN);
+            }
+        }
+
+        return prescriptionService.getPatientHistory(patientId, page, size);
+    }
+
     /**
      * Get prescription by appointment ID
      */
     @GetMapping("/{appointmentId}/{token}")
-    public ResponseEntity<Map<String, Object>> getPrescription(
+    public ResponseEntity<?> getPrescription(
             @PathVariable Long appointmentId,
             @PathVariable String token
     ) {
         var validation = service.validateToken(token, "doctor");
         if (validation.getStatusCode() != HttpStatus.OK) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("message", "Invalid or expired token"));
+                    .body(INVALID_TOKEN);
         }
 
         return prescriptionService.getPrescription(appointmentId);
@@ -0,0 +1,92 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.ResponseMessages;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.ReactivePrescriptionService;
+import com.project.back_end.services.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive prescription API.
+ *
+ * Handlers return Mono/Flux, so Spring MVC completes the request asynchronously and the
+ * Tomcat thread is released while Mongo is read or written. Token checks may hit MySQL,
+ * so they run on the bounded elastic scheduler rather than on a Mongo event-loop thread.
+ */
+@RestController
+@RequestMapping("${api.path}" + "reactive/prescription")
+public class ReactivePrescriptionController {
+
+    private final ReactivePrescriptionService reactivePrescriptionService;
+    private final Service service;
+
+    @Autowired
+    public ReactivePrescriptionController(ReactivePrescriptionService reactivePrescriptionService, Service service) {
+        this.reactivePrescriptionService = reactivePrescriptionService;
+        this.service = service;
+    }
+
+    /**
+     * Save a prescription
+     */
+    @PostMapping("/{token}")
+    public Mono<ResponseEntity<MessageResponse>> savePrescription(
+            @PathVariable String token,
+            @RequestBody Prescription prescription
+    ) {
+        return resolveDoctor(token)
+                .flatMap(principal -> reactivePrescriptionService.savePrescription(prescription))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse(ResponseMessages.INVALID_TOKEN)));
+    }
+
+    /**
+     * Get prescription by appointment ID
+     */
+    @GetMapping("/{appointmentId}/{token}")
+    public Mono<ResponseEntity<?>> getPrescription(
+            @PathVariable Long appointmentId,
+            @PathVariable String token
+    ) {
+        return resolveDoctor(token)
+                .flatMap(principal -> reactivePrescriptionService.getPrescription(appointmentId))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse(ResponseMessages.INVALID_TOKEN)));
+    }
+
+    /**
+     * Stream prescriptions as newline-delimited JSON, optionally filtered by patient name
+     */
+    @GetMapping(value = "/stream/{token}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Prescription> streamPrescriptions(
+            @PathVariable String token,
+            @RequestParam(required = false) String patientName
+    ) {
+        return resolveDoctor(token)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, ResponseMessages.INVALID_TOKEN)))
+                .flatMapMany(principal -> reactivePrescriptionService.streamPrescriptions(patientName));
+    }
+
+    private Mono<AuthenticatedPrincipal> resolveDoctor(String token) {
+        return Mono.fromCallable(() -> service.resolvePrincipal(token, "doctor"))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
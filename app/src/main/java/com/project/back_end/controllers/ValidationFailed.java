@@ -1,5 +1,11 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.ResponseMessages;
+import com.project.back_end.services.AppointmentService;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -7,22 +13,37 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.validation.FieldError;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestControllerAdvice
 public class ValidationFailed {
 
+    private static final MessageResponse SLOT_TAKEN = new MessageResponse(ResponseMessages.SLOT_NOT_AVAILABLE);
+    private static final MessageResponse INVALID_DATA = new MessageResponse("Invalid or incomplete data");
+    private static final MessageResponse CONCURRENT_UPDATE =
+            new MessageResponse("Record was modified concurrently, please reload and retry");
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationException(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        
+    public ResponseEntity<MessageResponse> handleValidationException(MethodArgumentNotValidException ex) {
+        String errorMessage = null;
+
         // Iterate through all the validation errors
         for (FieldError error : ex.getBindingResult().getFieldErrors()) {
-            String errorMessage = error.getDefaultMessage();
-            errors.put("message", "" + errorMessage);
+            errorMessage = "" + error.getDefaultMessage();
         }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(errorMessage));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<MessageResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
+        // Only a double-booked slot is a conflict; NOT NULL or foreign key failures are bad input
+        if (AppointmentService.isSlotConflict(ex)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(SLOT_TAKEN);
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_DATA);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<MessageResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONCURRENT_UPDATE);
     }
 }
\ No newline at end of file
@@ -1,10 +1,21 @@
 package com.project.back_end.models;
 
 @Entity
+@Table(uniqueConstraints = {
+        // Prevents double booking: a doctor can only have one appointment per slot
+        @UniqueConstraint(name = Appointment.DOCTOR_TIME_CONSTRAINT, columnNames = {"doctor_id", "appointment_time"})
+}, indexes = {
+        // Serves the patient dashboard: all, past and upcoming appointments of one patient
+        @Index(name = "idx_appointment_patient_time", columnList = "patient_id, appointment_time")
+})
 public class Appointment {
 
+    public static final String DOCTOR_TIME_CONSTRAINT = "uk_appointment_doctor_time";
+
+    // Pooled sequence rather than IDENTITY so appointment inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -22,6 +33,11 @@ public class Appointment {
     @NotNull(message = "Status cannot be null")
     private int status; // 0 = Scheduled, 1 = Completed
 
+    // Backfilled and made NOT NULL by db/migration/V1; null would make Spring Data treat the row as new
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Default constructor
     public Appointment() {
     }
@@ -75,6 +91,14 @@ public class Appointment {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Helper Methods
 
     @Transient
@@ -28,8 +28,9 @@ public class Doctor {
     @Pattern(regexp = "\\d{10}", message = "Phone number must be 10 digits")
     private String phone;
 
-    @ElementCollection
-    private List<String> availableTimes;
+    @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<DoctorAvailability> availability = new ArrayList<>();
 
     // Default constructor
     public Doctor() {
@@ -42,7 +43,7 @@ public class Doctor {
         this.email = email;
         this.password = password;
         this.phone = phone;
-        this.availableTimes = availableTimes;
+        setAvailableTimes(availableTimes);
     }
 
     // Getters and Setters
@@ -94,12 +95,33 @@ public class Doctor {
         this.phone = phone;
     }
 
+    public List<DoctorAvailability> getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(List<DoctorAvailability> availability) {
+        this.availability = availability;
+    }
+
+    // Available times as exposed to the front end: "HH:mm-HH:mm" strings backed by the typed slots
+
     public List<String> getAvailableTimes() {
-        return availableTimes;
+        List<String> times = new ArrayList<>(availability.size());
+        for (DoctorAvailability slot : availability) {
+            times.add(slot.getStartTime() + "-" + slot.getEndTime());
+        }
+        return times;
     }
 
     public void setAvailableTimes(List<String> availableTimes) {
-        this.availableTimes = availableTimes;
+        availability.clear();
+        if (availableTimes == null) return;
+        for (String time : availableTimes) {
+            String[] bounds = time.split("-");
+            LocalTime start = LocalTime.parse(bounds[0].trim());
+            LocalTime end = bounds.length > 1 ? LocalTime.parse(bounds[1].trim()) : start.plusHours(1);
+            availability.add(new DoctorAvailability(this, start, end));
+        }
     }
 }
 
@@ -0,0 +1,86 @@
+package com.project.back_end.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "doctor_availability", indexes = {
+        // Serves the AM/PM and time-window doctor filters
+        @Index(name = "idx_availability_doctor_start", columnList = "doctor_id, start_time")
+})
+public class DoctorAvailability {
+
+    // Pooled sequence rather than IDENTITY so a doctor's slots are inserted in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_availability_seq")
+    @SequenceGenerator(name = "doctor_availability_seq", sequenceName = "doctor_availability_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    @JsonIgnore
+    private Doctor doctor;
+
+    @NotNull(message = "Start time cannot be null")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time cannot be null")
+    private LocalTime endTime;
+
+    // Default constructor
+    public DoctorAvailability() {
+    }
+
+    // Parameterized constructor
+    public DoctorAvailability(Doctor doctor, LocalTime startTime, LocalTime endTime) {
+        this.doctor = doctor;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    public void setDoctor(Doctor doctor) {
+        this.doctor = doctor;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -1,8 +1,18 @@
 package com.project.back_end.models;
 
 @Document (collection = "prescriptions")
+@CompoundIndexes({
+        // Lookup by appointment; also covers the dashboard projection (PrescriptionSummary)
+        @CompoundIndex(name = Prescription.APPOINTMENT_INDEX,
+                def = "{'appointmentId': 1, 'patientName': 1, 'medication': 1, 'dosage': 1, 'doctorNotes': 1}"),
+        // Patient history: a patient's prescriptions in appointment order
+        @CompoundIndex(name = Prescription.PATIENT_HISTORY_INDEX, def = "{'patientName': 1, 'appointmentId': 1}")
+})
 public class Prescription {
 
+    public static final String APPOINTMENT_INDEX = "idx_prescription_appointment";
+    public static final String PATIENT_HISTORY_INDEX = "idx_prescription_patient_appointment";
+
     @Id
     private String id; // MongoDB auto-generated ID
 
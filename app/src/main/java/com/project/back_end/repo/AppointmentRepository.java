@@ -3,6 +3,14 @@ package com.project.back_end.repo;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    /**
+     * Select clause building an AppointmentDTO straight from the joined columns,
+     * so no Appointment, Doctor or Patient entity is loaded or managed
+     */
+    String APPOINTMENT_DTO_SELECT = "SELECT new com.project.back_end.DTO.AppointmentDTO(" +
+            "a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status, a.version) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p ";
+
     /**
      * Retrieve appointments for a doctor within a given time range
      */
@@ -11,6 +19,14 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
            "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
     List<Appointment> findByDoctorIdAndAppointmentTimeBetween(Long doctorId, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Retrieve only the appointment times of a doctor within a given time range
+     */
+    @Query("SELECT a.appointmentTime FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
+    List<LocalDateTime> findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId, LocalDateTime start, LocalDateTime end);
+
     /**
      * Filter appointments by doctor ID, partial patient name (case-insensitive), and time range
      */
@@ -24,17 +40,28 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             Long doctorId, String patientName, LocalDateTime start, LocalDateTime end);
 
     /**
-     * Delete all appointments related to a specific doctor
+     * Delete all appointments related to a specific doctor in a single statement
+     *
+     * @return number of appointments deleted
      */
     @Modifying
     @Transactional
-    void deleteAllByDoctorId(Long doctorId);
+    @Query("DELETE FROM Appointment a WHERE a.doctor.id = :doctorId")
+    int deleteAllByDoctorId(Long doctorId);
 
     /**
      * Find all appointments for a specific patient
      */
     List<Appointment> findByPatientId(Long patientId);
 
+    /**
+     * Retrieve only the IDs of a patient's appointments, most recent first
+     */
+    @Query("SELECT a.id FROM Appointment a " +
+           "WHERE a.patient.id = :patientId " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<Long> findIdsByPatientIdOrderByAppointmentTimeDesc(Long patientId);
+
     /**
      * Retrieve appointments for a patient by status, ordered by appointment time ascending
      */
@@ -49,6 +76,72 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
            "AND a.patient.id = :patientId")
     List<Appointment> filterByDoctorNameAndPatientId(String doctorName, Long patientId);
 
+    /**
+     * Find all appointments for a specific patient as DTOs in a single statement
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE p.id = :patientId")
+    List<AppointmentDTO> findAppointmentDTOsByPatientId(Long patientId);
+
+    /**
+     * Retrieve a doctor's appointments within a time range as DTOs, in time order
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end " +
+           "ORDER BY a.appointmentTime")
+    List<AppointmentDTO> findAppointmentDTOsByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Search appointments by partial doctor name and patient ID as DTOs in a single statement
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE LOWER(d.name) LIKE CONCAT('%', LOWER(:doctorName), '%') " +
+           "AND p.id = :patientId")
+    List<AppointmentDTO> filterAppointmentDTOsByDoctorNameAndPatientId(String doctorName, Long patientId);
+
+    /**
+     * Upcoming appointments of a patient after a keyset cursor, earliest first.
+     * Pass (now, Long.MAX_VALUE) as cursor for the first page.
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE p.id = :patientId " +
+           "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findUpcomingAppointmentDTOs(Long patientId, LocalDateTime afterTime, Long afterId, Limit limit);
+
+    /**
+     * Past appointments of a patient before a keyset cursor, latest first.
+     * Pass (now, 0) as cursor for the first page.
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE p.id = :patientId " +
+           "AND (a.appointmentTime < :beforeTime OR (a.appointmentTime = :beforeTime AND a.id < :beforeId)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPastAppointmentDTOs(Long patientId, LocalDateTime beforeTime, Long beforeId, Limit limit);
+
+    /**
+     * Upcoming appointments of a patient with a partial doctor name match, after a keyset cursor
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE p.id = :patientId " +
+           "AND LOWER(d.name) LIKE CONCAT('%', LOWER(:doctorName), '%') " +
+           "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findUpcomingAppointmentDTOsByDoctorName(
+            Long patientId, String doctorName, LocalDateTime afterTime, Long afterId, Limit limit);
+
+    /**
+     * Past appointments of a patient with a partial doctor name match, before a keyset cursor
+     */
+    @Query(APPOINTMENT_DTO_SELECT +
+           "WHERE p.id = :patientId " +
+           "AND LOWER(d.name) LIKE CONCAT('%', LOWER(:doctorName), '%') " +
+           "AND (a.appointmentTime < :beforeTime OR (a.appointmentTime = :beforeTime AND a.id < :beforeId)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPastAppointmentDTOsByDoctorName(
+            Long patientId, String doctorName, LocalDateTime beforeTime, Long beforeId, Limit limit);
+
     /**
      * Filter appointments by doctor name, patient ID, and status
      */
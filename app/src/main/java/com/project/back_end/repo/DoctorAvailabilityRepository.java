@@ -0,0 +1,36 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.DoctorAvailability;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvailability, Long> {
+
+    /**
+     * Find the start times of every slot a doctor offers
+     *
+     * @param doctorId the doctor's ID
+     * @return start times of the doctor's slots
+     */
+    @Query("SELECT s.startTime FROM DoctorAvailability s WHERE s.doctor.id = :doctorId")
+    List<LocalTime> findStartTimesByDoctorId(Long doctorId);
+
+    /**
+     * Delete every slot of a doctor in a single statement
+     *
+     * @param doctorId the doctor's ID
+     * @return number of slots deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DoctorAvailability s WHERE s.doctor.id = :doctorId")
+    int deleteAllByDoctorId(Long doctorId);
+}
@@ -39,4 +39,49 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      * @return List of doctors with the given specialty
      */
     List<Doctor> findBySpecialtyIgnoreCase(String specialty);
+
+    /**
+     * Fetch the next keyset page of doctors, ordered by id
+     *
+     * @param afterId id of the last doctor of the previous page (0 for the first page)
+     * @param limit maximum number of doctors to return
+     * @return List of doctors with an id greater than afterId
+     */
+    List<Doctor> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Find doctors offering at least one slot that starts within a time window
+     *
+     * @param from inclusive lower bound of the slot start time
+     * @param to exclusive upper bound of the slot start time
+     * @return List of matching doctors
+     */
+    @Query("SELECT DISTINCT d FROM Doctor d JOIN d.availability s " +
+           "WHERE s.startTime >= :from AND s.startTime < :to")
+    List<Doctor> findByStartTimeWindow(LocalTime from, LocalTime to);
+
+    /**
+     * Among the given doctors, find those offering at least one slot that starts within a time window
+     *
+     * @param ids candidate doctor IDs
+     * @param from inclusive lower bound of the slot start time
+     * @param to exclusive upper bound of the slot start time
+     * @return List of matching doctors
+     */
+    @Query("SELECT DISTINCT d FROM Doctor d JOIN d.availability s " +
+           "WHERE d.id IN :ids AND s.startTime >= :from AND s.startTime < :to " +
+           "ORDER BY d.id")
+    List<Doctor> findByIdInAndStartTimeWindow(Collection<Long> ids, LocalTime from, LocalTime to);
+
+    /**
+     * Delete a doctor row in a single statement, without loading the doctor or cascading;
+     * the doctor's slots and appointments must already be gone
+     *
+     * @param id the doctor's ID
+     * @return number of doctors deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Doctor d WHERE d.id = :id")
+    int deleteDoctorById(Long id);
 }
@@ -10,4 +10,16 @@ public interface PrescriptionRepository extends MongoRepository<Prescription, St
      * @return list of matching prescriptions
      */
     List<Prescription> findByAppointmentId(Long appointmentId);
+
+    /**
+     * Find the dashboard view of the prescriptions for an appointment.
+     * Every projected field is in the appointment index and _id is excluded, so the query
+     * is answered from the index without reading the documents.
+     *
+     * @param appointmentId the appointment ID to search
+     * @return list of matching prescription summaries
+     */
+    @Query(value = "{ 'appointmentId': ?0 }",
+            fields = "{ '_id': 0, 'appointmentId': 1, 'patientName': 1, 'medication': 1, 'dosage': 1, 'doctorNotes': 1 }")
+    List<PrescriptionSummary> findSummariesByAppointmentId(Long appointmentId);
 }
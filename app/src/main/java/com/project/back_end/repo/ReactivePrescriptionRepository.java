@@ -0,0 +1,28 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    /**
+     * Find prescriptions associated with a specific appointment
+     *
+     * @param appointmentId the appointment ID to search
+     * @return stream of matching prescriptions
+     */
+    Flux<Prescription> findByAppointmentId(Long appointmentId);
+
+    /**
+     * Find the prescriptions written for a patient
+     *
+     * @param patientName the patient name to search
+     * @return stream of matching prescriptions
+     */
+    Flux<Prescription> findByPatientName(String patientName);
+}
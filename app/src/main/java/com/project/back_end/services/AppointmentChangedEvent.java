@@ -0,0 +1,12 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever appointments of a doctor are created, moved, cancelled or deleted.
+ *
+ * @param doctorId the doctor whose schedule changed
+ * @param date     the day that changed, or null if any of the doctor's days may have
+ */
+public record AppointmentChangedEvent(Long doctorId, LocalDate date) {
+}
@@ -1,8 +1,18 @@
 package com.project.back_end.services;
 
 @Service
+@Timed("clinic.service")
 public class AppointmentService {
 
+    /** Most slots a single range booking may expand to */
+    public static final int MAX_RANGE_SLOTS = 500;
+
+    /** Most days a single range booking may span, checked before the range is expanded */
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private static final MessageResponse STALE_APPOINTMENT =
+            new MessageResponse("Appointment was modified concurrently, please reload and retry");
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
@@ -13,18 +23,40 @@ public class AppointmentService {
     private DoctorRepository doctorRepository;
 
     @Autowired
-    private TokenService tokenService;
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorScheduleView doctorScheduleView;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     /**
-     * Book a new appointment
+     * Book a new appointment.
+     * The slot is claimed by the insert itself: the unique (doctor_id, appointment_time)
+     * constraint rejects a second booking of the same slot, whichever node it comes from.
      *
      * @param appointment the appointment object
-     * @return 1 if successful, 0 if failure
+     * @return 1 if successful, -1 if the slot is already taken, 0 if failure
      */
     public int bookAppointment(Appointment appointment) {
         try {
-            appointmentRepository.save(appointment);
+            appointmentRepository.saveAndFlush(appointment);
+            availabilityIndex.markBooked(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            publishChange(appointment.getDoctor().getId(), appointment.getAppointmentTime());
             return 1;
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) {
+                e.printStackTrace();
+                return 0;
+            }
+            // Someone else (possibly on another node) got the slot first
+            meterRegistry.counter("clinic.booking.conflicts", "detected_by", "constraint").increment();
+            availabilityIndex.markBooked(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            return -1;
         } catch (Exception e) {
             e.printStackTrace();
             return 0;
@@ -32,17 +64,24 @@ public class AppointmentService {
     }
 
     /**
-     * Update an existing appointment
+     * Update an existing appointment.
+     * The client sends back the version it read; if the appointment has been changed since,
+     * the update is refused rather than overwriting that change.
      *
-     * @param appointment the appointment object with updated data
-     * @return ResponseEntity containing success/failure message
+     * @param appointment the appointment object with updated data and the version it was read at
+     * @return ResponseEntity containing success/failure message; 409 if the version is stale
      */
-    public ResponseEntity<Map<String, String>> updateAppointment(Appointment appointment) {
-        Map<String, String> response = new HashMap<>();
+    @Transactional
+    public ResponseEntity<MessageResponse> updateAppointment(Appointment appointment) {
         Optional<Appointment> existingOpt = appointmentRepository.findById(appointment.getId());
 
         if (existingOpt.isPresent()) {
             Appointment existing = existingOpt.get();
+            if (!Objects.equals(appointment.getVersion(), existing.getVersion())) {
+                return ResponseEntity.status(409).body(STALE_APPOINTMENT);
+            }
+            Long previousDoctorId = existing.getDoctor().getId();
+            LocalDateTime previousTime = existing.getAppointmentTime();
 
             // Basic validation could be added here, e.g., check for time conflicts
             existing.setAppointmentTime(appointment.getAppointmentTime());
@@ -50,76 +89,161 @@ public class AppointmentService {
             existing.setDoctor(appointment.getDoctor());
             existing.setPatient(appointment.getPatient());
 
-            appointmentRepository.save(existing);
-            response.put("message", "Appointment updated successfully");
-            return ResponseEntity.ok(response);
+            appointmentRepository.saveAndFlush(existing);
+            availabilityIndex.release(previousDoctorId, previousTime);
+            availabilityIndex.markBooked(existing.getDoctor().getId(), existing.getAppointmentTime());
+            publishChange(previousDoctorId, previousTime);
+            publishChange(existing.getDoctor().getId(), existing.getAppointmentTime());
+            return ResponseEntity.ok(new MessageResponse("Appointment updated successfully"));
         } else {
-            response.put("message", "Appointment not found");
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(new MessageResponse(ResponseMessages.APPOINTMENT_NOT_FOUND));
         }
     }
 
     /**
      * Cancel an appointment by ID and token
      *
-     * @param id    appointment ID
-     * @param token patient or doctor authorization token
+     * @param id        appointment ID
+     * @param principal authenticated patient
      * @return ResponseEntity with success/failure message
      */
-    public ResponseEntity<Map<String, String>> cancelAppointment(long id, String token) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<MessageResponse> cancelAppointment(long id, AuthenticatedPrincipal principal) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(id);
 
         if (appointmentOpt.isPresent()) {
             Appointment appointment = appointmentOpt.get();
 
-            // Optionally validate token to ensure the user can cancel
-            String userId = tokenService.extractUserId(token);
-            if (!userId.equals(String.valueOf(appointment.getPatient().getId()))) {
-                response.put("message", "Unauthorized to cancel this appointment");
-                return ResponseEntity.status(403).body(response);
+            // Only the patient who booked the appointment may cancel it
+            if (!principal.getId().equals(appointment.getPatient().getId())) {
+                return ResponseEntity.status(403).body(new MessageResponse("Unauthorized to cancel this appointment"));
             }
 
             appointmentRepository.delete(appointment);
-            response.put("message", "Appointment cancelled successfully");
-            return ResponseEntity.ok(response);
+            availabilityIndex.release(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            publishChange(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            return ResponseEntity.ok(new MessageResponse("Appointment cancelled successfully"));
         } else {
-            response.put("message", "Appointment not found");
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(new MessageResponse(ResponseMessages.APPOINTMENT_NOT_FOUND));
         }
     }
 
     /**
-     * Retrieve appointments for a doctor on a specific date, optionally filtered by patient name
+     * Retrieve appointments for a doctor on a specific date, optionally filtered by patient name.
+     * Served from the DoctorScheduleView read model; MySQL is only queried on a miss, and
+     * queriesSaved reports how many of the doctor's searches that day avoided one.
      *
-     * @param pname patient name filter (optional)
-     * @param date  appointment date
-     * @param token authorization token (doctor)
-     * @return map containing appointments list
+     * @param pname     patient name filter (optional)
+     * @param date      appointment date
+     * @param principal authenticated doctor
+     * @return the appointments list
      */
-    public Map<String, Object> getAppointment(String pname, LocalDate date, String token) {
-        Map<String, Object> result = new HashMap<>();
+    public AppointmentsResponse getAppointment(String pname, LocalDate date, AuthenticatedPrincipal principal) {
         try {
-            Long doctorId = tokenService.extractDoctorId(token);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-            List<Appointment> appointments;
-            if (pname != null && !pname.isEmpty()) {
-                appointments = appointmentRepository
-                        .findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                                doctorId, pname, startOfDay, endOfDay);
+            // The dashboard sends the literal "null" when no name is entered
+            String nameFilter = "null".equals(pname) ? null : pname;
+            DoctorScheduleView.ScheduleSearch search = doctorScheduleView.search(principal.getId(), date, nameFilter);
+            return new AppointmentsResponse(search.appointments(), null, search.queriesSaved());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return AppointmentsResponse.of(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Book every slot of a date range and recurrence for one patient, in one transaction.
+     *
+     * Offered times come from the availability index, so a slot is offered here exactly when
+     * a single booking may take it. The booked times across the whole range are read with
+     * one query on the doctor/time unique index; the free slots are then
+     * inserted together in JDBC batches. Every slot gets a status: booked, unavailable
+     * (already taken), not_offered (outside the doctor's hours) or past. If another booking
+     * takes one of the free slots in the meantime, nothing is booked and the caller retries.
+     *
+     * @param request doctor, patient, date range and recurrence
+     * @return per-slot results; 400 for an empty range, one longer than MAX_RANGE_DAYS or one
+     *         expanding to more than MAX_RANGE_SLOTS slots, 404 for an unknown
+     *         doctor or patient, 409 on a concurrent booking
+     */
+    @Transactional
+    public ResponseEntity<?> bookRange(RangeBookingRequest request) {
+        if (request.getDoctorId() == null || request.getPatientId() == null || request.getStartDate() == null
+                || request.getEndDate() == null || request.getTimes() == null || request.getTimes().isEmpty()
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            return ResponseEntity.status(400).body(
+                    new MessageResponse("Doctor, patient, a valid date range and at least one time are required"));
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.status(400).body(
+                    new MessageResponse("A range booking may span at most " + MAX_RANGE_DAYS + " days"));
+        }
+        List<LocalDateTime> slots = request.slots(MAX_RANGE_SLOTS + 1);
+        if (slots.isEmpty() || slots.size() > MAX_RANGE_SLOTS) {
+            return ResponseEntity.status(400).body(
+                    new MessageResponse("A range booking must cover between 1 and " + MAX_RANGE_SLOTS + " slots"));
+        }
+
+        Optional<Doctor> doctor = doctorRepository.findById(request.getDoctorId());
+        Optional<Patient> patient = patientRepository.findById(request.getPatientId());
+        if (doctor.isEmpty() || patient.isEmpty()) {
+            return ResponseEntity.status(404).body(new MessageResponse(
+                    doctor.isEmpty() ? ResponseMessages.DOCTOR_NOT_FOUND : ResponseMessages.PATIENT_NOT_FOUND));
+        }
+
+        Set<LocalDateTime> booked = new HashSet<>(appointmentRepository
+                .findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                        request.getDoctorId(), slots.get(0), slots.get(slots.size() - 1)));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<RangeBookingResponse.Slot> results = new ArrayList<>(slots.size());
+        List<Appointment> accepted = new ArrayList<>();
+        for (LocalDateTime slot : slots) {
+            String status;
+            if (!slot.isAfter(now)) {
+                status = "past";
+            } else if (!availabilityIndex.isOffered(request.getDoctorId(), slot.toLocalTime())) {
+                status = "not_offered";
+            } else if (booked.contains(slot)) {
+                status = "unavailable";
             } else {
-                appointments = appointmentRepository
-                        .findByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay, endOfDay);
+                status = "booked";
+                accepted.add(new Appointment(doctor.get(), patient.get(), slot, 0));
             }
+            results.add(new RangeBookingResponse.Slot(slot, status));
+        }
 
-            result.put("appointments", appointments);
-            return result;
-        } catch (Exception e) {
-            e.printStackTrace();
-            result.put("appointments", Collections.emptyList());
-            return result;
+        try {
+            appointmentRepository.saveAllAndFlush(accepted);
+        } catch (DataIntegrityViolationException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            if (!isSlotConflict(e)) throw e;
+            meterRegistry.counter("clinic.booking.conflicts", "detected_by", "constraint").increment();
+            return ResponseEntity.status(409).body(
+                    new MessageResponse("Some slots were booked concurrently; nothing was booked, please retry"));
+        }
+        for (Appointment appointment : accepted) {
+            availabilityIndex.markBooked(request.getDoctorId(), appointment.getAppointmentTime());
+        }
+        if (!accepted.isEmpty()) {
+            eventPublisher.publishEvent(new AppointmentChangedEvent(request.getDoctorId(), null));
+        }
+
+        return ResponseEntity.status(accepted.isEmpty() ? 200 : 201)
+                .body(new RangeBookingResponse(accepted.size(), slots.size() - accepted.size(), results));
+    }
+
+    /** Private helper: announce that a doctor's appointments on the day of the given time changed */
+    private void publishChange(Long doctorId, LocalDateTime time) {
+        eventPublisher.publishEvent(new AppointmentChangedEvent(doctorId, time.toLocalDate()));
+    }
+
+    /** Whether an integrity violation comes from the doctor/time unique constraint */
+    public static boolean isSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(Appointment.DOCTOR_TIME_CONSTRAINT)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,170 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorAvailabilityRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory index of free appointment slots.
+ *
+ * Slots are one hour long and start on the hour, so a whole day fits in the low 24 bits
+ * of an int: bit n set means the slot starting at n:00 is offered (or booked).
+ * Offered slots are derived per doctor from the doctor's availability rows, booked slots
+ * per (doctor, day) from the appointment times. Both are kept up to date incrementally by
+ * this node's booking, update and cancel paths, and reloaded once their TTL has passed
+ * since they were loaded, which bounds how long changes made on other nodes go unseen.
+ * Both caches are bounded, so only recently used doctors and days are held.
+ *
+ * A day's mask is loaded and updated through the same cache entry: an update that arrives
+ * while the day is loading waits for the load and is applied to its result, so a booking
+ * committed after the load read the database is never lost from the mask.
+ */
+@Component
+public class AvailabilityIndex {
+
+    /** Slots offered when a doctor has not configured any: 09:00 to 16:00 */
+    private static final int DEFAULT_SLOTS = 0xFF << 9;
+
+    private final DoctorCache doctorCache;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    private final Cache<Long, Integer> offeredSlots;
+    private final Cache<DayKey, Integer> bookedSlots;
+
+    public AvailabilityIndex(DoctorCache doctorCache,
+                             DoctorAvailabilityRepository doctorAvailabilityRepository,
+                             AppointmentRepository appointmentRepository,
+                             @Value("${availability.index.max-days:10000}") long maxDays,
+                             @Value("${availability.index.ttl:60s}") Duration ttl) {
+        this.doctorCache = doctorCache;
+        this.doctorAvailabilityRepository = doctorAvailabilityRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.offeredSlots = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(ttl)
+                .build();
+        // Expiry counts from the load only; incremental updates must not keep a day alive forever
+        this.bookedSlots = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfter(Expiry.<DayKey, Integer>creating((key, mask) -> ttl))
+                .build();
+    }
+
+    /**
+     * Free slots of a doctor on a given day as "HH:mm" strings.
+     *
+     * @return free slots, or an empty list if the doctor does not exist
+     */
+    public List<String> getAvailableSlots(Long doctorId, LocalDate date) {
+        Integer offered = offered(doctorId);
+        if (offered == null) return List.of();
+
+        int free = offered & ~booked(doctorId, date);
+        List<String> slots = new ArrayList<>(Integer.bitCount(free));
+        for (int hour = 0; hour < 24; hour++) {
+            if ((free & (1 << hour)) != 0) {
+                slots.add(LocalTime.of(hour, 0).toString());
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Check whether a slot can be booked.
+     *
+     * @return -1 if the doctor does not exist, 1 if the slot is free, 0 otherwise
+     */
+    public int checkSlot(Long doctorId, LocalDateTime time) {
+        Integer offered = offered(doctorId);
+        if (offered == null) return -1;
+
+        int bit = slotBit(time.toLocalTime());
+        if (bit == 0) return 0;
+        return (offered & ~booked(doctorId, time.toLocalDate()) & bit) != 0 ? 1 : 0;
+    }
+
+    /** Whether the doctor offers the slot starting at the given time; false for an unknown doctor */
+    public boolean isOffered(Long doctorId, LocalTime time) {
+        Integer offered = offered(doctorId);
+        return offered != null && (offered & slotBit(time)) != 0;
+    }
+
+    /** Record a newly booked appointment */
+    public void markBooked(Long doctorId, LocalDateTime time) {
+        int bit = slotBit(time.toLocalTime());
+        if (bit == 0) return;
+        // Days that were never loaded are read from the database on first use
+        bookedSlots.asMap().computeIfPresent(new DayKey(doctorId, time.toLocalDate()), (k, mask) -> mask | bit);
+    }
+
+    /** Record a cancelled or moved appointment */
+    public void release(Long doctorId, LocalDateTime time) {
+        int bit = slotBit(time.toLocalTime());
+        if (bit == 0) return;
+        bookedSlots.asMap().computeIfPresent(new DayKey(doctorId, time.toLocalDate()), (k, mask) -> mask & ~bit);
+    }
+
+    /** Forget a doctor's offered slots, e.g. after their available times changed */
+    public void refreshDoctor(Long doctorId) {
+        offeredSlots.invalidate(doctorId);
+    }
+
+    /** Forget everything about a doctor, e.g. after the doctor was deleted */
+    public void evictDoctor(Long doctorId) {
+        offeredSlots.invalidate(doctorId);
+        bookedSlots.asMap().keySet().removeIf(key -> key.doctorId().equals(doctorId));
+    }
+
+    private Integer offered(Long doctorId) {
+        // Unknown doctors are not cached (the loader returns null), so they are looked up again
+        return offeredSlots.get(doctorId, id -> doctorCache.findById(id) == null
+                ? null
+                : offeredMask(doctorAvailabilityRepository.findStartTimesByDoctorId(id)));
+    }
+
+    private int booked(Long doctorId, LocalDate date) {
+        return bookedSlots.get(new DayKey(doctorId, date), this::loadBooked);
+    }
+
+    private int loadBooked(DayKey key) {
+        int mask = 0;
+        for (LocalDateTime time : appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                key.doctorId(), key.date().atStartOfDay(), key.date().atTime(LocalTime.MAX))) {
+            mask |= slotBit(time.toLocalTime());
+        }
+        return mask;
+    }
+
+    /** Build the offered mask from the start times of a doctor's slots */
+    private static int offeredMask(List<LocalTime> startTimes) {
+        if (startTimes.isEmpty()) return DEFAULT_SLOTS;
+
+        int mask = 0;
+        for (LocalTime start : startTimes) {
+            mask |= slotBit(start);
+        }
+        return mask;
+    }
+
+    /** Bit of the slot starting at the given time, or 0 if it does not start on the hour */
+    private static int slotBit(LocalTime time) {
+        if (time.getMinute() != 0 || time.getSecond() != 0 || time.getNano() != 0) return 0;
+        return 1 << time.getHour();
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
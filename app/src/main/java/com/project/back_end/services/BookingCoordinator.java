@@ -0,0 +1,203 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.repo.AppointmentRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serializes booking decisions per doctor and writes them in batches.
+ *
+ * Doctors are striped over a fixed number of single-writer threads, so every booking for
+ * one doctor is decided by the same thread, in arrival order, against the in-memory
+ * availability index. Requests that pile up while a batch is being written are decided
+ * together and their inserts sent as one JDBC batch, so a rush on a popular doctor turns
+ * into a few transactions instead of hundreds of competing ones. Different doctors land on
+ * different stripes and proceed in parallel.
+ *
+ * Results use the AppointmentService.bookAppointment codes: 1 booked, -1 slot taken,
+ * 0 failure. The unique (doctor_id, appointment_time) constraint still guards against
+ * bookings made by other nodes. If a batch insert fails for any reason, the batch is
+ * retried one appointment at a time, so one bad booking only fails itself. Each stripe's
+ * queue is bounded; once it is full, submit rejects new bookings instead of letting the
+ * backlog grow.
+ */
+@Component
+public class BookingCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCoordinator.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Stripe[] stripes;
+
+    public BookingCoordinator(AppointmentRepository appointmentRepository,
+                              AppointmentService appointmentService,
+                              AvailabilityIndex availabilityIndex,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${booking.pipeline.stripes:0}") int stripeCount,
+                              @Value("${booking.pipeline.batch-size:50}") int batchSize,
+                              @Value("${booking.pipeline.queue-capacity:1000}") int queueCapacity) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentService = appointmentService;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(batchSize, 1);
+        this.queueCapacity = Math.max(queueCapacity, 1);
+
+        int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe("booking-" + i);
+        }
+        Gauge.builder("clinic.booking.queue.size", this, BookingCoordinator::queued)
+                .description("Bookings waiting for their doctor's writer thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a booking; the future completes once it has been decided and written
+     *
+     * @throws RejectedExecutionException if the doctor's stripe already has queueCapacity bookings waiting
+     */
+    public CompletableFuture<Integer> submit(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        Pending pending = new Pending(appointment, new CompletableFuture<>());
+        if (!stripes[Math.floorMod(doctorId.hashCode(), stripes.length)].queue.offer(pending)) {
+            throw new RejectedExecutionException("Booking queue is full");
+        }
+        return pending.result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Stripe stripe : stripes) {
+            stripe.thread.interrupt();
+        }
+    }
+
+    private int queued() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.queue.size();
+        }
+        return total;
+    }
+
+    /** Private helper: decide a batch in arrival order, then write the accepted bookings together */
+    private void process(List<Pending> batch) {
+        List<Pending> accepted = new ArrayList<>();
+        Set<SlotKey> claimed = new HashSet<>();
+        for (Pending pending : batch) {
+            Appointment appointment = pending.appointment;
+            SlotKey slot = new SlotKey(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            int check = availabilityIndex.checkSlot(slot.doctorId(), slot.time());
+            if (check == -1) {
+                pending.result.complete(0);
+            } else if (check == 0 || !claimed.add(slot)) {
+                pending.result.complete(-1);
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    appointmentRepository.saveAllAndFlush(accepted.stream().map(p -> p.appointment).toList()));
+        } catch (Exception e) {
+            // Another node booked one of these slots, or one booking is bad (e.g. an unknown
+            // patient); settle each booking on its own so only the offending ones fail
+            if (!(e instanceof DataIntegrityViolationException)) {
+                log.warn("Batch of {} bookings failed, retrying one at a time", accepted.size(), e);
+            }
+            for (Pending pending : accepted) {
+                pending.appointment.setId(null);
+                pending.appointment.setVersion(null);
+                pending.result.complete(appointmentService.bookAppointment(pending.appointment));
+            }
+            return;
+        }
+        for (Pending pending : accepted) {
+            Appointment appointment = pending.appointment;
+            availabilityIndex.markBooked(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            eventPublisher.publishEvent(new AppointmentChangedEvent(
+                    appointment.getDoctor().getId(), appointment.getAppointmentTime().toLocalDate()));
+            pending.result.complete(1);
+        }
+    }
+
+    private record SlotKey(Long doctorId, LocalDateTime time) {
+    }
+
+    private record Pending(Appointment appointment, CompletableFuture<Integer> result) {
+    }
+
+    /** One single-writer thread and its queue */
+    private final class Stripe implements Runnable {
+
+        private final BlockingQueue<Pending> queue;
+        private final Thread thread;
+
+        private Stripe(String name) {
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    process(batch);
+                } catch (Exception e) {
+                    log.error("Booking batch failed", e);
+                    batch.forEach(p -> p.result.complete(0));
+                } finally {
+                    batch.clear();
+                }
+            }
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result.complete(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+
+import org.hibernate.Hibernate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Caching facade for Doctor reads.
+ *
+ * Doctors are cached by id and by email, and the results of the doctor finder queries
+ * are cached by their arguments. Size, TTL and statistics are configured through
+ * spring.cache.caffeine.spec; hit, miss and eviction counts are published as cache.*
+ * metrics. Cached doctors are detached, so their availability is initialized before
+ * they are stored.
+ *
+ * DoctorService calls {@link #evict(Doctor)} after every save, update and delete.
+ */
+@Component
+public class DoctorCache {
+
+    public static final String BY_ID = "doctorsById";
+    public static final String BY_EMAIL = "doctorsByEmail";
+    public static final String QUERIES = "doctorQueries";
+
+    private final DoctorRepository doctorRepository;
+    private final CacheManager cacheManager;
+
+    public DoctorCache(DoctorRepository doctorRepository, CacheManager cacheManager) {
+        this.doctorRepository = doctorRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /** Find a doctor by ID, or null if there is none */
+    @Cacheable(cacheNames = BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Doctor findById(Long id) {
+        return initialized(doctorRepository.findById(id).orElse(null));
+    }
+
+    /** Find a doctor by email, or null if there is none */
+    @Cacheable(cacheNames = BY_EMAIL, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Doctor findByEmail(String email) {
+        return initialized(doctorRepository.findByEmail(email));
+    }
+
+    /**
+     * Find doctors by ID. Cached doctors are served from the cache and the rest are
+     * loaded with a single query and cached.
+     */
+    @Transactional(readOnly = true)
+    public List<Doctor> findAllById(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(BY_ID);
+        List<Doctor> doctors = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Doctor doctor = cache.get(id, Doctor.class);
+            if (doctor != null) {
+                doctors.add(doctor);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Doctor doctor : doctorRepository.findAllById(missing)) {
+                cache.put(doctor.getId(), initialized(doctor));
+                doctors.add(doctor);
+            }
+        }
+        return doctors;
+    }
+
+    /** Find doctors by specialty, ignoring case */
+    @Cacheable(cacheNames = QUERIES, key = "'specialty:' + #specialty.toLowerCase()")
+    @Transactional(readOnly = true)
+    public List<Doctor> findBySpecialtyIgnoreCase(String specialty) {
+        return initialized(doctorRepository.findBySpecialtyIgnoreCase(specialty));
+    }
+
+    /** Find doctors offering at least one slot that starts within [from, to) */
+    @Cacheable(cacheNames = QUERIES, key = "'window:' + #from + '-' + #to")
+    @Transactional(readOnly = true)
+    public List<Doctor> findByStartTimeWindow(LocalTime from, LocalTime to) {
+        return initialized(doctorRepository.findByStartTimeWindow(from, to));
+    }
+
+    /**
+     * Drop a doctor from the id and email caches and clear the cached query results,
+     * any of which may now include or exclude the doctor.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BY_ID, key = "#doctor.id"),
+            @CacheEvict(cacheNames = BY_EMAIL, key = "#doctor.email"),
+            @CacheEvict(cacheNames = QUERIES, allEntries = true)
+    })
+    public void evict(Doctor doctor) {
+    }
+
+    private static Doctor initialized(Doctor doctor) {
+        if (doctor != null) {
+            Hibernate.initialize(doctor.getAvailability());
+        }
+        return doctor;
+    }
+
+    private static List<Doctor> initialized(List<Doctor> doctors) {
+        doctors.forEach(DoctorCache::initialized);
+        return doctors;
+    }
+}
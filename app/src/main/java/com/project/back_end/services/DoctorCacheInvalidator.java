@@ -0,0 +1,54 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Brings the in-memory views of doctors up to date once a doctor change has committed.
+ *
+ * Evicting before the commit would let a concurrent read cache the old row again (a
+ * deleted doctor would keep resolving and validating tokens), and a rolled back change
+ * would leave the caches describing data that was never written. Changes made outside a
+ * transaction are applied straight away, the repository call having committed already.
+ */
+@Component
+public class DoctorCacheInvalidator {
+
+    private final DoctorCache doctorCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final TokenService tokenService;
+
+    public DoctorCacheInvalidator(DoctorCache doctorCache, AvailabilityIndex availabilityIndex,
+                                  DoctorSearchIndex doctorSearchIndex, TokenService tokenService) {
+        this.doctorCache = doctorCache;
+        this.availabilityIndex = availabilityIndex;
+        this.doctorSearchIndex = doctorSearchIndex;
+        this.tokenService = tokenService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Doctor previous = event.previous();
+        Doctor current = event.current();
+        if (previous != null) doctorCache.evict(previous);
+        if (current != null) doctorCache.evict(current);
+
+        if (current == null) {
+            availabilityIndex.evictDoctor(previous.getId());
+            doctorSearchIndex.remove(previous.getId());
+            tokenService.evictPrincipal(previous.getEmail());
+            return;
+        }
+        if (previous != null) {
+            availabilityIndex.refreshDoctor(current.getId());
+            if (!previous.getEmail().equals(current.getEmail())) {
+                tokenService.evictPrincipal(previous.getEmail());
+            }
+        }
+        doctorSearchIndex.put(current);
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+
+/**
+ * Published whenever a doctor is created, updated or deleted.
+ *
+ * @param previous the doctor as it was before the change (on update, a detached copy of its id
+ *                 and email), or null if it was created
+ * @param current  the doctor as it is after the change, or null if it was deleted
+ */
+public record DoctorChangedEvent(Doctor previous, Doctor current) {
+}
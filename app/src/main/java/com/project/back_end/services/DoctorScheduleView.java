@@ -0,0 +1,131 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.repo.AppointmentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read model of the doctor dashboard: each doctor's appointments for one day, as compact
+ * AppointmentDTOs in time order.
+ *
+ * A day is loaded with a single query the first time it is read and then served from
+ * memory; the patient-name filter runs over that short list. Days are dropped when an
+ * AppointmentChangedEvent for them is committed, and reloaded on the next read. The TTL
+ * bounds staleness from changes made by other nodes or to patient details.
+ *
+ * Searches are incremental: each doctor's last search is kept briefly, and a search that
+ * only extends its text (the doctor typing on) filters the previous, already narrowed,
+ * result instead of the whole day, as long as that day is still the cached list the
+ * previous result was taken from; once the day is reloaded, searches start from it again.
+ * Every search answered without a query counts towards the queries saved, reported per
+ * dashboard session and as clinic.schedule.queries.saved.
+ */
+@Component
+public class DoctorScheduleView {
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    /**
+     * A doctor's last search: its day, the cached day list it filtered, its text and result,
+     * and the queries saved so far that day
+     */
+    private record Session(LocalDate date, List<AppointmentDTO> day, String needle, List<AppointmentDTO> results,
+                           long queriesSaved) {
+    }
+
+    /** Result of an incremental search */
+    public record ScheduleSearch(List<AppointmentDTO> appointments, long queriesSaved) {
+    }
+
+    private final AppointmentRepository appointmentRepository;
+    private final Cache<DayKey, List<AppointmentDTO>> days;
+    private final Cache<Long, Session> sessions;
+    private final Counter queriesSaved;
+
+    public DoctorScheduleView(AppointmentRepository appointmentRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${schedule.view.max-days:10000}") long maxDays,
+                              @Value("${schedule.view.ttl:60s}") Duration ttl,
+                              @Value("${schedule.view.search-ttl:30s}") Duration searchTtl) {
+        this.appointmentRepository = appointmentRepository;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(ttl)
+                .build();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(searchTtl)
+                .build();
+        this.queriesSaved = Counter.builder("clinic.schedule.queries.saved")
+                .description("Doctor dashboard searches answered without a database query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Search a doctor's appointments on a day by patient name (case-insensitive substring;
+     * null or empty matches everyone), refining the doctor's previous search when possible
+     */
+    public ScheduleSearch search(Long doctorId, LocalDate date, String patientName) {
+        String needle = patientName == null ? "" : patientName.toLowerCase(Locale.ROOT);
+        Session previous = sessions.getIfPresent(doctorId);
+        boolean sameDay = previous != null && previous.date().equals(date);
+
+        DayKey key = new DayKey(doctorId, date);
+        List<AppointmentDTO> day = days.getIfPresent(key);
+        boolean queried = false;
+        if (day == null) {
+            day = days.get(key, this::load);
+            queried = true;
+        }
+
+        // Refine only a result taken from this very day list; a reloaded day starts over
+        List<AppointmentDTO> candidates = sameDay && previous.day() == day && needle.startsWith(previous.needle())
+                ? previous.results()
+                : day;
+
+        List<AppointmentDTO> results = filter(candidates, needle);
+        long saved = (sameDay ? previous.queriesSaved() : 0) + (queried ? 0 : 1);
+        sessions.put(doctorId, new Session(date, day, needle, results, saved));
+        if (!queried) queriesSaved.increment();
+        return new ScheduleSearch(results, saved);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.date() == null) {
+            days.asMap().keySet().removeIf(key -> key.doctorId().equals(event.doctorId()));
+        } else {
+            days.invalidate(new DayKey(event.doctorId(), event.date()));
+        }
+        sessions.invalidate(event.doctorId());
+    }
+
+    private static List<AppointmentDTO> filter(List<AppointmentDTO> appointments, String needle) {
+        if (needle.isEmpty()) {
+            return appointments;
+        }
+        return appointments.stream()
+                .filter(a -> a.getPatientName() != null && a.getPatientName().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+    }
+
+    private List<AppointmentDTO> load(DayKey key) {
+        return List.copyOf(appointmentRepository.findAppointmentDTOsByDoctorIdAndAppointmentTimeBetween(
+                key.doctorId(), key.date().atStartOfDay(), key.date().atTime(LocalTime.MAX)));
+    }
+}
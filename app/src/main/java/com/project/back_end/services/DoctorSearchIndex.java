@@ -0,0 +1,158 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process search index over doctor names and specialties.
+ *
+ * Names are split into lower-case trigrams; a substring (or prefix) query intersects the
+ * posting sets of its own trigrams and verifies the few remaining candidates, instead of
+ * running a LIKE '%x%' scan over the doctor table. Queries shorter than three characters
+ * are answered by scanning the in-memory entries. Specialties are indexed by exact
+ * lower-case value.
+ *
+ * The index is filled from the database once the application is ready and is then kept
+ * up to date by DoctorService on save, update and delete. Until it is ready callers
+ * should fall back to the repository queries.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int WARM_UP_PAGE_SIZE = 500;
+
+    private final DoctorRepository doctorRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> specialties = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /** Load every doctor into the index, one keyset page at a time */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long afterId = 0L;
+        List<Doctor> page;
+        do {
+            page = doctorRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(WARM_UP_PAGE_SIZE));
+            for (Doctor doctor : page) {
+                put(doctor);
+                afterId = doctor.getId();
+            }
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+        ready = true;
+    }
+
+    /** Whether the index holds every doctor and can answer searches on its own */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Add a doctor to the index, replacing any previous version of it */
+    public synchronized void put(Doctor doctor) {
+        remove(doctor.getId());
+
+        Entry entry = new Entry(lower(doctor.getName()), lower(doctor.getSpecialty()));
+        entries.put(doctor.getId(), entry);
+        for (String gram : grams(entry.name())) {
+            trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(doctor.getId());
+        }
+        specialties.computeIfAbsent(entry.specialty(), s -> ConcurrentHashMap.newKeySet()).add(doctor.getId());
+    }
+
+    /** Remove a doctor from the index */
+    public synchronized void remove(Long doctorId) {
+        Entry entry = entries.remove(doctorId);
+        if (entry == null) return;
+
+        for (String gram : grams(entry.name())) {
+            removePosting(trigrams, gram, doctorId);
+        }
+        removePosting(specialties, entry.specialty(), doctorId);
+    }
+
+    /**
+     * Ids of doctors whose name contains the given text and whose specialty matches,
+     * both case-insensitive. A null or empty argument does not filter.
+     *
+     * @return matching doctor ids in ascending order
+     */
+    public List<Long> search(String name, String specialty) {
+        String query = lower(name);
+        String wanted = lower(specialty);
+
+        Set<Long> candidates = entries.keySet();
+        if (!wanted.isEmpty()) {
+            candidates = specialties.getOrDefault(wanted, Collections.emptySet());
+        }
+        if (query.length() >= GRAM) {
+            Set<Long> posting = smallestPosting(query);
+            if (posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.name().contains(query)
+                    && (wanted.isEmpty() || entry.specialty().equals(wanted))) {
+                ids.add(id);
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private Set<Long> smallestPosting(String query) {
+        Set<Long> smallest = null;
+        for (String gram : grams(query)) {
+            Set<Long> posting = trigrams.getOrDefault(gram, Collections.emptySet());
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long doctorId) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(doctorId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String name, String specialty) {
+    }
+}
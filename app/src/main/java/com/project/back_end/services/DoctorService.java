@@ -1,165 +1,223 @@
 package com.project.back_end.services;
 
 @Service
+@Timed("clinic.service")
 public class DoctorService {
 
+    private static final Logger log = LoggerFactory.getLogger(DoctorService.class);
+
+    /** Largest page the doctor listing will return in one call */
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private DoctorRepository doctorRepository;
 
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorSearchIndex doctorSearchIndex;
+
+    @Autowired
+    private DoctorCache doctorCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /** Fetch available slots for a doctor on a specific date */
     public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
-        List<String> allSlots = Arrays.asList("09:00","10:00","11:00","12:00","13:00","14:00","15:00","16:00"); // example slots
-        List<Appointment> appointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(
-                        doctorId,
-                        date.atStartOfDay(),
-                        date.atTime(LocalTime.MAX)
-                );
-        List<String> bookedSlots = appointments.stream()
-                .map(a -> a.getAppointmentTime().toLocalTime().toString())
-                .collect(Collectors.toList());
-
-        return allSlots.stream()
-                .filter(slot -> !bookedSlots.contains(slot))
-                .collect(Collectors.toList());
-    }
-
-    /** Save a new doctor */
+        return availabilityIndex.getAvailableSlots(doctorId, date);
+    }
+
+    /** Save a new doctor; caches are brought up to date once the insert has committed */
     public int saveDoctor(Doctor doctor) {
         if (doctorRepository.findByEmail(doctor.getEmail()) != null) return -1;
         try {
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(new DoctorChangedEvent(null, doctor));
             return 1;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Saving doctor {} failed", doctor.getEmail(), e);
             return 0;
         }
     }
 
-    /** Update an existing doctor */
+    /**
+     * Update an existing doctor; caches are brought up to date once the update has committed.
+     * The previous id and email are copied before the save, which merges the new state onto
+     * the managed entity found here.
+     */
     public int updateDoctor(Doctor doctor) {
         Optional<Doctor> existing = doctorRepository.findById(doctor.getId());
         if (existing.isEmpty()) return -1;
+        Doctor previous = identityOf(existing.get());
         try {
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(new DoctorChangedEvent(previous, doctor));
             return 1;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Updating doctor {} failed", doctor.getId(), e);
             return 0;
         }
     }
 
-    /** Retrieve all doctors */
-    public List<Doctor> getDoctors() {
-        return doctorRepository.findAll();
+    /**
+     * Retrieve one keyset page of doctors with ids greater than afterId.
+     * Available times are initialized here (batch-fetched per page) so the page can be
+     * serialized after the transaction has ended.
+     */
+    @Transactional(readOnly = true)
+    public List<Doctor> getDoctors(Long afterId, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Doctor> doctors = doctorRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(size));
+        doctors.forEach(d -> Hibernate.initialize(d.getAvailability()));
+        return doctors;
+    }
+
+    /**
+     * Retrieve one keyset page of doctors together with the cursor of the next page.
+     * Runs in its own read-only transaction: the call to getDoctors is a self-call, which
+     * does not go through the transactional proxy.
+     */
+    @Transactional(readOnly = true)
+    public DoctorsResponse getDoctorPage(Long afterId, int limit) {
+        List<Doctor> doctors = getDoctors(afterId, limit);
+        Long nextCursor = doctors.size() == Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)
+                ? doctors.get(doctors.size() - 1).getId()
+                : null;
+        return new DoctorsResponse(doctors.stream().map(DoctorDTO::from).toList(), nextCursor);
     }
 
-    /** Delete a doctor by ID, including associated appointments */
+    /**
+     * Delete a doctor by ID, including associated appointments.
+     * Caches and indexes forget the doctor only after the deletes have committed.
+     */
+    @Transactional
     public int deleteDoctor(long id) {
         Optional<Doctor> existing = doctorRepository.findById(id);
         if (existing.isEmpty()) return -1;
         try {
+            // Three bulk deletes, however many appointments and slots the doctor has
             appointmentRepository.deleteAllByDoctorId(id);
-            doctorRepository.deleteById(id);
+            doctorAvailabilityRepository.deleteAllByDoctorId(id);
+            doctorRepository.deleteDoctorById(id);
+            eventPublisher.publishEvent(new DoctorChangedEvent(existing.get(), null));
+            eventPublisher.publishEvent(new AppointmentChangedEvent(id, null));
             return 1;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Deleting doctor {} failed, rolling back", id, e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return 0;
         }
     }
 
     /** Validate doctor login credentials */
-    public ResponseEntity<Map<String, String>> validateDoctor(Login login) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<?> validateDoctor(Login login) {
         Doctor doctor = doctorRepository.findByEmail(login.getIdentifier());
         if (doctor != null && doctor.getPassword().equals(login.getPassword())) {
             String token = tokenService.generateToken(doctor.getId(), "doctor");
-            response.put("token", token);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new TokenResponse(token));
         } else {
-            response.put("message", "Invalid email or password");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(new MessageResponse(ResponseMessages.INVALID_CREDENTIALS));
         }
     }
 
     /** Find doctors by partial name */
-    public Map<String, Object> findDoctorByName(String name) {
-        Map<String, Object> result = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findByNameLike(name);
-        result.put("doctors", doctors);
-        return result;
+    public DoctorsResponse findDoctorByName(String name) {
+        return DoctorsResponse.of(searchDoctors(name, null, null));
     }
 
     /** Filter doctors by name, specialty, and AM/PM availability */
-    public Map<String, Object> filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
-        List<Doctor> filtered = doctorRepository
-                .findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-        filtered = filterDoctorByTime(filtered, amOrPm);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
+    public DoctorsResponse filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
+        return DoctorsResponse.of(searchDoctors(name, specialty, amOrPm));
     }
 
     /** Filter doctors by name and AM/PM */
-    public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
-        List<Doctor> filtered = doctorRepository.findByNameLike(name);
-        filtered = filterDoctorByTime(filtered, amOrPm);
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
+    public DoctorsResponse filterDoctorByNameAndTime(String name, String amOrPm) {
+        return DoctorsResponse.of(searchDoctors(name, null, amOrPm));
     }
 
     /** Filter doctors by name and specialty */
-    public Map<String, Object> filterDoctorByNameAndSpecility(String name, String specialty) {
-        List<Doctor> filtered = doctorRepository
-                .findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
+    public DoctorsResponse filterDoctorByNameAndSpecility(String name, String specialty) {
+        return DoctorsResponse.of(searchDoctors(name, specialty, null));
     }
 
     /** Filter doctors by specialty and AM/PM */
-    public Map<String, Object> filterDoctorByTimeAndSpecility(String specialty, String amOrPm) {
-        List<Doctor> filtered = doctorRepository.findBySpecialtyIgnoreCase(specialty);
-        filtered = filterDoctorByTime(filtered, amOrPm);
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
+    public DoctorsResponse filterDoctorByTimeAndSpecility(String specialty, String amOrPm) {
+        return DoctorsResponse.of(searchDoctors(null, specialty, amOrPm));
     }
 
     /** Filter doctors by specialty */
-    public Map<String, Object> filterDoctorBySpecility(String specialty) {
-        List<Doctor> filtered = doctorRepository.findBySpecialtyIgnoreCase(specialty);
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
+    public DoctorsResponse filterDoctorBySpecility(String specialty) {
+        return DoctorsResponse.of(searchDoctors(null, specialty, null));
     }
 
     /** Filter doctors by AM/PM availability */
-    public Map<String, Object> filterDoctorsByTime(String amOrPm) {
-        List<Doctor> all = doctorRepository.findAll();
-        List<Doctor> filtered = filterDoctorByTime(all, amOrPm);
-        Map<String, Object> result = new HashMap<>();
-        result.put("doctors", filtered);
-        return result;
-    }
-
-    /** Private helper: filter a list of doctors by AM/PM */
-    private List<Doctor> filterDoctorByTime(List<Doctor> doctors, String amOrPm) {
-        if (amOrPm == null || amOrPm.isEmpty()) return doctors;
-
-        return doctors.stream()
-                .filter(d -> d.getAvailability().stream().anyMatch(slot ->
-                        (amOrPm.equalsIgnoreCase("AM") && slot.endsWith("AM")) ||
-                        (amOrPm.equalsIgnoreCase("PM") && slot.endsWith("PM"))
-                ))
-                .collect(Collectors.toList());
+    public DoctorsResponse filterDoctorsByTime(String amOrPm) {
+        return DoctorsResponse.of(searchDoctors(null, null, amOrPm));
+    }
+
+    /**
+     * Private helper: doctors matching a partial name, a specialty and an AM/PM window,
+     * each of which may be null. Name and specialty are answered by the in-memory search
+     * index once it is warm (the LIKE queries are only used right after startup) and the
+     * matching doctors come from the doctor cache; the time window is a single indexed
+     * predicate on the doctor_availability table.
+     */
+    private List<Doctor> searchDoctors(String name, String specialty, String amOrPm) {
+        LocalTime[] window = timeWindow(amOrPm);
+        if (window == null) {
+            return name == null && specialty == null ? doctorRepository.findAll() : searchDoctors(name, specialty);
+        }
+        if (name == null && specialty == null) {
+            return doctorCache.findByStartTimeWindow(window[0], window[1]);
+        }
+
+        List<Long> ids = doctorSearchIndex.isReady()
+                ? doctorSearchIndex.search(name, specialty)
+                : searchDoctors(name, specialty).stream().map(Doctor::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) return new ArrayList<>();
+        return doctorRepository.findByIdInAndStartTimeWindow(ids, window[0], window[1]);
+    }
+
+    /** Private helper: doctors matching a partial name and/or a specialty */
+    private List<Doctor> searchDoctors(String name, String specialty) {
+        if (!doctorSearchIndex.isReady()) {
+            if (specialty == null) return doctorRepository.findByNameLike(name);
+            if (name == null) return doctorCache.findBySpecialtyIgnoreCase(specialty);
+            return doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
+        }
+
+        List<Long> ids = doctorSearchIndex.search(name, specialty);
+        if (ids.isEmpty()) return new ArrayList<>();
+        List<Doctor> doctors = new ArrayList<>(doctorCache.findAllById(ids));
+        doctors.sort(Comparator.comparing(Doctor::getId));
+        return doctors;
+    }
+
+    /** Private helper: a detached doctor carrying only the id and email of the given one */
+    private static Doctor identityOf(Doctor doctor) {
+        Doctor copy = new Doctor();
+        copy.setId(doctor.getId());
+        copy.setEmail(doctor.getEmail());
+        return copy;
+    }
+
+    /** Private helper: [from, to) slot start window for "AM" or "PM", or null for no time filter */
+    private LocalTime[] timeWindow(String amOrPm) {
+        if (amOrPm == null) return null;
+        if (amOrPm.equalsIgnoreCase("AM")) return new LocalTime[] {LocalTime.MIDNIGHT, LocalTime.NOON};
+        if (amOrPm.equalsIgnoreCase("PM")) return new LocalTime[] {LocalTime.NOON, LocalTime.MAX};
+        return null;
     }
 }
@@ -1,6 +1,7 @@
 package com.project.back_end.services;
 
 @Service
+@Timed("clinic.service")
 public class PatientService {
 
     @Autowired
@@ -9,9 +10,6 @@ public class PatientService {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
-    @Autowired
-    private TokenService tokenService;
-
     /** Create a new patient */
     public int createPatient(Patient patient) {
         try {
@@ -24,117 +22,111 @@ public class PatientService {
     }
 
     /** Fetch all appointments for a patient */
-    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<?> getPatientAppointment(Long id, AuthenticatedPrincipal principal) {
         try {
-            String email = tokenService.getEmailFromToken(token);
-            Patient patient = patientRepository.findByEmail(email);
-            if (patient == null || !patient.getId().equals(id)) {
-                response.put("message", "Unauthorized access");
-                return ResponseEntity.status(401).body(response);
+            if (!principal.getId().equals(id)) {
+                return ResponseEntity.status(401).body(new MessageResponse(ResponseMessages.UNAUTHORIZED_ACCESS));
             }
 
-            List<AppointmentDTO> appointments = appointmentRepository.findByPatientId(id).stream()
-                    .map(AppointmentDTO::new)
-                    .collect(Collectors.toList());
-
-            response.put("appointments", appointments);
-            return ResponseEntity.ok(response);
+            List<AppointmentDTO> appointments = appointmentRepository.findAppointmentDTOsByPatientId(id);
+            return ResponseEntity.ok(AppointmentsResponse.of(appointments));
 
         } catch (Exception e) {
-            response.put("message", "Error retrieving appointments");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Error retrieving appointments"));
         }
     }
 
-    /** Filter appointments by past or future condition */
-    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id) {
-        Map<String, Object> response = new HashMap<>();
+    /**
+     * Filter appointments by past or future condition, one keyset page at a time
+     *
+     * @param cursorTime appointment time of the last row of the previous page, or null for the first page
+     * @param cursorId   id of the last row of the previous page, or null for the first page
+     * @param limit      page size, or 0 to return every matching appointment
+     */
+    public ResponseEntity<?> filterByCondition(String condition, Long id,
+                                               LocalDateTime cursorTime, Long cursorId, int limit) {
         try {
-            List<AppointmentDTO> filtered = appointmentRepository.findByPatientId(id).stream()
-                    .map(AppointmentDTO::new)
-                    .filter(a -> {
-                        if (condition.equalsIgnoreCase("past")) {
-                            return a.getAppointmentTime().isBefore(LocalDateTime.now());
-                        } else if (condition.equalsIgnoreCase("future")) {
-                            return a.getAppointmentTime().isAfter(LocalDateTime.now());
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            response.put("appointments", filtered);
-            return ResponseEntity.ok(response);
+            List<AppointmentDTO> filtered = findByCondition(condition, null, id, cursorTime, cursorId, limit);
+            return ResponseEntity.ok(page(filtered, limit));
 
         } catch (Exception e) {
-            response.put("message", "Error filtering appointments");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Error filtering appointments"));
         }
     }
 
     /** Filter appointments by doctor's name */
-    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<?> filterByDoctor(String name, Long patientId) {
         try {
             List<AppointmentDTO> filtered = appointmentRepository
-                    .filterByDoctorNameAndPatientId(name, patientId)
-                    .stream()
-                    .map(AppointmentDTO::new)
-                    .collect(Collectors.toList());
-
-            response.put("appointments", filtered);
-            return ResponseEntity.ok(response);
+                    .filterAppointmentDTOsByDoctorNameAndPatientId(name, patientId);
+            return ResponseEntity.ok(AppointmentsResponse.of(filtered));
 
         } catch (Exception e) {
-            response.put("message", "Error filtering by doctor");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Error filtering by doctor"));
         }
     }
 
-    /** Filter appointments by doctor and condition (past/future) */
-    public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name, long patientId) {
-        Map<String, Object> response = new HashMap<>();
+    /** Filter appointments by doctor and condition (past/future), one keyset page at a time */
+    public ResponseEntity<?> filterByDoctorAndCondition(String condition, String name, long patientId,
+                                                        LocalDateTime cursorTime, Long cursorId, int limit) {
         try {
-            List<AppointmentDTO> filtered = appointmentRepository
-                    .filterByDoctorNameAndPatientId(name, patientId)
-                    .stream()
-                    .map(AppointmentDTO::new)
-                    .filter(a -> {
-                        if (condition.equalsIgnoreCase("past")) {
-                            return a.getAppointmentTime().isBefore(LocalDateTime.now());
-                        } else if (condition.equalsIgnoreCase("future")) {
-                            return a.getAppointmentTime().isAfter(LocalDateTime.now());
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            response.put("appointments", filtered);
-            return ResponseEntity.ok(response);
+            List<AppointmentDTO> filtered = findByCondition(condition, name, patientId, cursorTime, cursorId, limit);
+            return ResponseEntity.ok(page(filtered, limit));
 
         } catch (Exception e) {
-            response.put("message", "Error filtering by doctor and condition");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Error filtering by doctor and condition"));
         }
     }
 
-    /** Get patient details from token */
-    public ResponseEntity<Map<String, Object>> getPatientDetails(String token) {
-        Map<String, Object> response = new HashMap<>();
+    /** Get details of the authenticated patient */
+    public ResponseEntity<?> getPatientDetails(AuthenticatedPrincipal principal) {
         try {
-            String email = tokenService.getEmailFromToken(token);
-            Patient patient = patientRepository.findByEmail(email);
+            Patient patient = patientRepository.findById(principal.getId()).orElse(null);
             if (patient == null) {
-                response.put("message", "Patient not found");
-                return ResponseEntity.status(404).body(response);
+                return ResponseEntity.status(404).body(new MessageResponse(ResponseMessages.PATIENT_NOT_FOUND));
             }
 
-            response.put("patient", patient);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new PatientResponse(PatientDTO.from(patient)));
 
         } catch (Exception e) {
-            response.put("message", "Error retrieving patient details");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Error retrieving patient details"));
+        }
+    }
+
+    /**
+     * Private helper: run the past/future query matching the condition, bounded in SQL by the
+     * current time (or the keyset cursor) so only the requested slice of rows is read
+     */
+    private List<AppointmentDTO> findByCondition(String condition, String doctorName, Long patientId,
+                                                 LocalDateTime cursorTime, Long cursorId, int limit) {
+        Limit pageLimit = limit > 0 ? Limit.of(limit) : Limit.unlimited();
+        LocalDateTime boundary = cursorTime != null ? cursorTime : LocalDateTime.now();
+
+        if (condition.equalsIgnoreCase("past")) {
+            Long beforeId = cursorId != null ? cursorId : 0L;
+            return doctorName == null
+                    ? appointmentRepository.findPastAppointmentDTOs(patientId, boundary, beforeId, pageLimit)
+                    : appointmentRepository.findPastAppointmentDTOsByDoctorName(
+                            patientId, doctorName, boundary, beforeId, pageLimit);
+        } else if (condition.equalsIgnoreCase("future")) {
+            Long afterId = cursorId != null ? cursorId : Long.MAX_VALUE;
+            return doctorName == null
+                    ? appointmentRepository.findUpcomingAppointmentDTOs(patientId, boundary, afterId, pageLimit)
+                    : appointmentRepository.findUpcomingAppointmentDTOsByDoctorName(
+                            patientId, doctorName, boundary, afterId, pageLimit);
+        }
+        return doctorName == null
+                ? appointmentRepository.findAppointmentDTOsByPatientId(patientId)
+                : appointmentRepository.filterAppointmentDTOsByDoctorNameAndPatientId(doctorName, patientId);
+    }
+
+    /** Private helper: a page of appointments and, when the page is full, the cursor of the next one */
+    private AppointmentsResponse page(List<AppointmentDTO> appointments, int limit) {
+        PageCursor nextCursor = null;
+        if (limit > 0 && appointments.size() == limit) {
+            AppointmentDTO last = appointments.get(appointments.size() - 1);
+            nextCursor = new PageCursor(last.getAppointmentTime(), last.getId());
         }
+        return new AppointmentsResponse(appointments, nextCursor, null);
     }
 }
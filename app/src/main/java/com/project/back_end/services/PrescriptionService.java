@@ -1,36 +1,216 @@
 package com.project.back_end.services;
 
 @Service
+@Timed("clinic.service")
 public class PrescriptionService {
 
+    /** Largest page the prescription history will return in one call */
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private static final String SAVE_FAILED = "Failed to save prescription";
+    private static final String PRESCRIPTION_REQUIRED = "Prescription is required";
+
     @Autowired
     private PrescriptionRepository prescriptionRepository;
 
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    /** Number of prescriptions validated and inserted together by the bulk endpoint */
+    @Value("${prescription.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
     /** Save a new prescription */
-    public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<MessageResponse> savePrescription(Prescription prescription) {
         try {
             prescriptionRepository.save(prescription);
-            response.put("message", "Prescription saved");
-            return ResponseEntity.status(201).body(response);
+            return ResponseEntity.status(201).body(new MessageResponse("Prescription saved"));
         } catch (Exception e) {
             e.printStackTrace();
-            response.put("message", "Failed to save prescription");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse(SAVE_FAILED));
         }
     }
 
     /** Retrieve prescription by appointment ID */
-    public ResponseEntity<Map<String, Object>> getPrescription(Long appointmentId) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<?> getPrescription(Long appointmentId) {
+        try {
+            List<PrescriptionSummary> prescriptions = prescriptionRepository.findSummariesByAppointmentId(appointmentId);
+            return ResponseEntity.ok(new PrescriptionsResponse<>(prescriptions));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(new MessageResponse("Failed to retrieve prescription"));
+        }
+    }
+
+    /** One submitted prescription, or why it could not be read (e.g. a malformed NDJSON line) */
+    public record BulkItem(Prescription prescription, String error) {
+
+        public static BulkItem of(Prescription prescription) {
+            return new BulkItem(prescription, null);
+        }
+
+        public static BulkItem unreadable(String error) {
+            return new BulkItem(null, error);
+        }
+    }
+
+    /**
+     * Save many prescriptions, reporting the outcome of each one.
+     *
+     * @param prescriptions prescriptions in request order
+     * @return 201 if every prescription was saved, 207 otherwise, with a per-item status
+     */
+    public ResponseEntity<BulkPrescriptionResponse> savePrescriptions(Iterator<Prescription> prescriptions) {
+        return saveItems(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return prescriptions.hasNext();
+            }
+
+            @Override
+            public BulkItem next() {
+                return BulkItem.of(prescriptions.next());
+            }
+        });
+    }
+
+    /**
+     * Save many submitted items, reporting the outcome of each one.
+     *
+     * Items are read batchSize at a time, validated in parallel and written with one
+     * unordered bulk insert per batch, so an unreadable, invalid or rejected item only fails
+     * itself. Ids are assigned before the insert so every saved item can be reported with its id.
+     *
+     * @param items items in request order; may be backed by a stream
+     * @return 201 if every item was saved, 207 otherwise, with a per-item status
+     */
+    public ResponseEntity<BulkPrescriptionResponse> saveItems(Iterator<BulkItem> items) {
+        List<BulkPrescriptionResponse.Item> results = new ArrayList<>();
+        int saved = 0;
+        List<BulkItem> batch = new ArrayList<>(bulkBatchSize);
+        while (items.hasNext()) {
+            batch.add(items.next());
+            if (batch.size() == bulkBatchSize || !items.hasNext()) {
+                saved += saveBatch(batch, results.size(), results);
+                batch.clear();
+            }
+        }
+
+        return ResponseEntity.status(saved == results.size() ? 201 : 207)
+                .body(new BulkPrescriptionResponse(saved, results.size() - saved, results));
+    }
+
+    /** Private helper: why a submitted item cannot be saved, or an empty string if it can */
+    private String validationErrors(BulkItem item) {
+        if (item.error() != null) return item.error();
+        if (item.prescription() == null) return PRESCRIPTION_REQUIRED;
+        return validator.validate(item.prescription()).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /** Private helper: validate and insert one batch, appending a result per item; returns the number saved */
+    private int saveBatch(List<BulkItem> batch, int offset, List<BulkPrescriptionResponse.Item> results) {
+        List<String> errors = batch.parallelStream()
+                .map(this::validationErrors)
+                .collect(Collectors.toList());
+
+        List<Prescription> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!errors.get(i).isEmpty()) {
+                results.add(new BulkPrescriptionResponse.Item(offset + i, "invalid", null, errors.get(i)));
+            } else {
+                Prescription p = batch.get(i).prescription();
+                if (p.getId() == null) p.setId(new ObjectId().toHexString());
+                results.add(new BulkPrescriptionResponse.Item(offset + i, "saved", p.getId(), null));
+                valid.add(p);
+                validIndexes.add(offset + i);
+            }
+        }
+        if (valid.isEmpty()) return 0;
+
+        int saved = valid.size();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Prescription.class)
+                    .insert(valid)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                markFailed(results, validIndexes.get(error.getIndex()), error.getMessage());
+                saved--;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            for (Integer index : validIndexes) {
+                markFailed(results, index, SAVE_FAILED);
+            }
+            saved = 0;
+        }
+        return saved;
+    }
+
+    private static void markFailed(List<BulkPrescriptionResponse.Item> results, int index, String message) {
+        results.set(index, new BulkPrescriptionResponse.Item(index, "failed", null, message));
+    }
+
+    /**
+     * Retrieve one page of a patient's prescription history, most recent appointment first.
+     *
+     * The patient's appointment IDs come from MySQL in a single query, already in appointment
+     * time order; one aggregation then matches them with $in, sorts by their position in that
+     * list and returns the requested page together with the total count.
+     *
+     * @param patientId patient whose history to return
+     * @param page      zero-based page number
+     * @param size      page size, capped at MAX_HISTORY_PAGE_SIZE
+     */
+    public ResponseEntity<?> getPatientHistory(Long patientId, int page, int size) {
         try {
-            List<Prescription> prescriptions = prescriptionRepository.findByAppointmentId(appointmentId);
-            response.put("prescriptions", prescriptions);
-            return ResponseEntity.ok(response);
+            int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+            int pageNumber = Math.max(page, 0);
+
+            List<Long> appointmentIds = appointmentRepository.findIdsByPatientIdOrderByAppointmentTimeDesc(patientId);
+            if (appointmentIds.isEmpty()) {
+                return ResponseEntity.ok(new PrescriptionHistoryResponse(pageNumber, pageSize, 0, List.of()));
+            }
+
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("appointmentId").in(appointmentIds)),
+                    Aggregation.addFields()
+                            .addFieldWithValue("historyOrder",
+                                    ArrayOperators.arrayOf(appointmentIds).indexOf(Fields.field("appointmentId")))
+                            .build(),
+                    Aggregation.sort(Sort.by("historyOrder", "_id")),
+                    Aggregation.facet(Aggregation.count().as("total")).as("total")
+                            .and(Aggregation.skip((long) pageNumber * pageSize),
+                                    Aggregation.limit(pageSize),
+                                    Aggregation.project("appointmentId", "patientName", "medication",
+                                            "dosage", "doctorNotes").andExclude("_id"))
+                            .as("prescriptions"));
+
+            HistoryFacet result = mongoTemplate.aggregate(aggregation, Prescription.class, HistoryFacet.class)
+                    .getUniqueMappedResult();
+            int total = result == null || result.total().isEmpty() ? 0 : result.total().get(0).total();
+            List<PrescriptionSummary> prescriptions = result == null ? List.of() : result.prescriptions();
+            return ResponseEntity.ok(new PrescriptionHistoryResponse(pageNumber, pageSize, total, prescriptions));
         } catch (Exception e) {
             e.printStackTrace();
-            response.put("message", "Failed to retrieve prescription");
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(new MessageResponse("Failed to retrieve prescription history"));
         }
     }
+
+    /** Output of the history aggregation: the count facet and the page facet */
+    record HistoryFacet(List<Count> total, List<PrescriptionSummary> prescriptions) {
+    }
+
+    record Count(int total) {
+    }
 }
@@ -0,0 +1,82 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of validated JWT principals.
+ *
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never kept) and
+ * expire after the TTL or together with the token they were resolved from, whichever comes
+ * first; the TTL bounds how long another node's change goes unnoticed. Reads take no global
+ * lock. The keys of each identifier are indexed so a user's tokens are evicted without
+ * scanning the cache.
+ */
+class PrincipalCache {
+
+    private final Cache<String, AuthenticatedPrincipal> entries;
+    private final ConcurrentHashMap<String, Set<String>> keysByIdentifier = new ConcurrentHashMap<>();
+
+    PrincipalCache(long maxSize, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, AuthenticatedPrincipal>writing((key, principal) -> {
+                    Duration untilExpiry = Duration.ofMillis(principal.getExpiry().getTime() - System.currentTimeMillis());
+                    return untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+                }))
+                .removalListener(this::unindex)
+                .build();
+    }
+
+    /** Return the cached principal for a token, or null if absent or expired */
+    AuthenticatedPrincipal get(String token) {
+        return entries.getIfPresent(digest(token));
+    }
+
+    /** Remember a principal that was resolved for the given token */
+    void put(String token, AuthenticatedPrincipal principal) {
+        String key = digest(token);
+        keysByIdentifier.computeIfAbsent(principal.getEmail(), identifier -> ConcurrentHashMap.newKeySet()).add(key);
+        entries.put(key, principal);
+    }
+
+    /** Drop every cached token that belongs to the given identifier */
+    void evictIdentifier(String identifier) {
+        Set<String> keys = keysByIdentifier.remove(identifier);
+        if (keys != null) {
+            entries.invalidateAll(keys);
+        }
+    }
+
+    /** Private helper: forget the key of a removed entry, unless the token was cached again since */
+    private void unindex(String key, AuthenticatedPrincipal principal, RemovalCause cause) {
+        if (key == null || principal == null || cause == RemovalCause.REPLACED
+                || entries.asMap().containsKey(key)) {
+            return;
+        }
+        keysByIdentifier.computeIfPresent(principal.getEmail(), (identifier, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.MessageResponse;
+import com.project.back_end.DTO.PrescriptionsResponse;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of PrescriptionService on the reactive Mongo driver.
+ * Nothing here blocks, so the Mongo I/O runs on the driver's event loop and never holds
+ * a Tomcat thread while it waits.
+ */
+@Service
+public class ReactivePrescriptionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePrescriptionService.class);
+
+    @Autowired
+    private ReactivePrescriptionRepository reactivePrescriptionRepository;
+
+    @Autowired
+    private Validator validator;
+
+    /** Save a new prescription once it passes bean validation; 400 with the violations otherwise */
+    public Mono<ResponseEntity<MessageResponse>> savePrescription(Prescription prescription) {
+        String errors = validator.validate(prescription).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!errors.isEmpty()) {
+            return Mono.just(ResponseEntity.status(400).body(new MessageResponse(errors)));
+        }
+
+        return reactivePrescriptionRepository.save(prescription)
+                .map(saved -> ResponseEntity.status(201).body(new MessageResponse("Prescription saved")))
+                .doOnError(e -> log.error("Saving prescription for appointment {} failed",
+                        prescription.getAppointmentId(), e))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(500)
+                        .body(new MessageResponse("Failed to save prescription"))));
+    }
+
+    /** Retrieve prescription by appointment ID */
+    public Mono<ResponseEntity<?>> getPrescription(Long appointmentId) {
+        return reactivePrescriptionRepository.findByAppointmentId(appointmentId)
+                .collectList()
+                .<ResponseEntity<?>>map(prescriptions -> ResponseEntity.ok(new PrescriptionsResponse<>(prescriptions)))
+                .doOnError(e -> log.error("Retrieving prescriptions for appointment {} failed", appointmentId, e))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(500)
+                        .body(new MessageResponse("Failed to retrieve prescription"))));
+    }
+
+    /** Stream prescriptions as they are read, optionally only those of one patient */
+    public Flux<Prescription> streamPrescriptions(String patientName) {
+        return patientName == null || patientName.isEmpty()
+                ? reactivePrescriptionRepository.findAll()
+                : reactivePrescriptionRepository.findByPatientName(patientName);
+    }
+}
@@ -1,64 +1,73 @@
 package com.project.back_end.services;
 
 @Service
+@Timed("clinic.service")
 public class Service {
 
+    private static final MessageResponse INVALID_TOKEN = new MessageResponse(ResponseMessages.INVALID_TOKEN);
+    private static final MessageResponse TOKEN_VALID = new MessageResponse("Token valid");
+
     private final TokenService tokenService;
     private final AdminRepository adminRepository;
-    private final DoctorRepository doctorRepository;
+    private final AvailabilityIndex availabilityIndex;
     private final PatientRepository patientRepository;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public Service(TokenService tokenService, AdminRepository adminRepository,
-                   DoctorRepository doctorRepository, PatientRepository patientRepository,
-                   DoctorService doctorService, PatientService patientService) {
+                   AvailabilityIndex availabilityIndex, PatientRepository patientRepository,
+                   DoctorService doctorService, PatientService patientService,
+                   MeterRegistry meterRegistry) {
         this.tokenService = tokenService;
         this.adminRepository = adminRepository;
-        this.doctorRepository = doctorRepository;
+        this.availabilityIndex = availabilityIndex;
         this.patientRepository = patientRepository;
         this.doctorService = doctorService;
         this.patientService = patientService;
+        this.meterRegistry = meterRegistry;
     }
 
     /** Validate token for a given user role */
-    public ResponseEntity<Map<String, String>> validateToken(String token, String user) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<MessageResponse> validateToken(String token, String user) {
         if (!tokenService.validateToken(token, user)) {
-            response.put("message", "Unauthorized or expired token");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(INVALID_TOKEN);
         }
-        response.put("message", "Token valid");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(TOKEN_VALID);
+    }
+
+    /** Resolve the authenticated principal for a token and role, or null if the token is not valid */
+    public AuthenticatedPrincipal resolvePrincipal(String token, String user) {
+        return tokenService.resolvePrincipal(token, user);
     }
 
     /** Validate admin login */
-    public ResponseEntity<Map<String, String>> validateAdmin(Admin receivedAdmin) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<?> validateAdmin(Admin receivedAdmin) {
         Admin admin = adminRepository.findByUsername(receivedAdmin.getUsername());
         if (admin != null && admin.getPassword().equals(receivedAdmin.getPassword())) {
             String token = tokenService.generateToken(admin.getUsername(), "admin");
-            response.put("token", token);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new TokenResponse(token));
         }
-        response.put("message", "Invalid username or password");
-        return ResponseEntity.status(401).body(response);
+        return ResponseEntity.status(401).body(new MessageResponse("Invalid username or password"));
     }
 
     /** Filter doctors by name, specialty, and time */
-    public Map<String, Object> filterDoctor(String name, String specialty, String time) {
+    public DoctorsResponse filterDoctor(String name, String specialty, String time) {
         return doctorService.filterDoctorsByNameSpecilityandTime(name, specialty, time);
     }
 
-    /** Validate appointment availability */
+    /**
+     * Validate appointment availability
+     *
+     * @return -1 if the doctor does not exist, 1 if the slot is free, 0 otherwise
+     */
     public int validateAppointment(Appointment appointment) {
-        Optional<Doctor> doctorOpt = doctorRepository.findById(appointment.getDoctorId());
-        if (doctorOpt.isEmpty()) return -1; // Doctor not found
-
-        List<String> availableSlots = doctorService.getDoctorAvailability(appointment.getDoctorId(),
-                appointment.getAppointmentTime().toLocalDate());
-        return availableSlots.contains(appointment.getAppointmentTime().toLocalTime().toString()) ? 1 : 0;
+        int result = availabilityIndex.checkSlot(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+        if (result == 0) {
+            meterRegistry.counter("clinic.booking.conflicts", "detected_by", "availability").increment();
+        }
+        return result;
     }
 
     /** Validate whether a patient exists by email or phone */
@@ -67,39 +76,27 @@ public class Service {
     }
 
     /** Validate patient login credentials */
-    public ResponseEntity<Map<String, String>> validatePatientLogin(Login login) {
-        Map<String, String> response = new HashMap<>();
+    public ResponseEntity<?> validatePatientLogin(Login login) {
         Patient patient = patientRepository.findByEmail(login.getIdentifier());
         if (patient != null && patient.getPassword().equals(login.getPassword())) {
             String token = tokenService.generateToken(patient.getEmail(), "patient");
-            response.put("token", token);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new TokenResponse(token));
         }
-        response.put("message", "Invalid email or password");
-        return ResponseEntity.status(401).body(response);
+        return ResponseEntity.status(401).body(new MessageResponse(ResponseMessages.INVALID_CREDENTIALS));
     }
 
-    /** Filter patient appointments by condition and doctor name */
-    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, String token) {
-        String email = tokenService.extractEmail(token);
-        Patient patient = patientRepository.findByEmail(email);
-        if (patient == null) {
-            Map<String, Object> resp = new HashMap<>();
-            resp.put("message", "Patient not found");
-            return ResponseEntity.status(404).body(resp);
-        }
+    /** Filter patient appointments by condition and doctor name, optionally one keyset page at a time */
+    public ResponseEntity<?> filterPatient(String condition, String name, AuthenticatedPrincipal principal,
+                                           LocalDateTime cursorTime, Long cursorId, int limit) {
+        Long patientId = principal.getId();
 
-        Map<String, Object> result;
         if (condition != null && name != null) {
-            result = patientService.filterByDoctorAndCondition(condition, name, patient.getId());
+            return patientService.filterByDoctorAndCondition(condition, name, patientId, cursorTime, cursorId, limit);
         } else if (condition != null) {
-            result = patientService.filterByCondition(condition, patient.getId());
+            return patientService.filterByCondition(condition, patientId, cursorTime, cursorId, limit);
         } else if (name != null) {
-            result = patientService.filterByDoctor(name, patient.getId());
-        } else {
-            result = patientService.getPatientAppointment(patient.getId(), token).getBody();
+            return patientService.filterByDoctor(name, patientId);
         }
-
-        return ResponseEntity.ok(result);
+        return patientService.getPatientAppointment(patientId, principal);
     }
 }
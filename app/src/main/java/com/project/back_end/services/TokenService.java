@@ -1,28 +1,51 @@
 package com.project.back_end.services;
 
 @Component
+@Timed("clinic.service")
 public class TokenService {
 
     private final AdminRepository adminRepository;
-    private final DoctorRepository doctorRepository;
+    private final DoctorCache doctorCache;
     private final PatientRepository patientRepository;
 
+    /** clinic.token.validations counters by role tag, then outcome; registered once */
+    private final Map<String, Map<String, Counter>> validationCounters = new HashMap<>();
+
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int principalCacheMaxSize;
+
+    @Value("${jwt.principal-cache.ttl:5m}")
+    private Duration principalCacheTtl;
+
     private SecretKey signingKey;
 
-    public TokenService(AdminRepository adminRepository, DoctorRepository doctorRepository,
-                        PatientRepository patientRepository) {
+    private PrincipalCache principalCache;
+
+    public TokenService(AdminRepository adminRepository, DoctorCache doctorCache,
+                        PatientRepository patientRepository, MeterRegistry meterRegistry) {
         this.adminRepository = adminRepository;
-        this.doctorRepository = doctorRepository;
+        this.doctorCache = doctorCache;
         this.patientRepository = patientRepository;
+        for (String role : List.of("admin", "doctor", "patient", "other")) {
+            Map<String, Counter> byOutcome = new HashMap<>();
+            for (String outcome : List.of("valid", "wrong_role", "unknown_user", "expired", "invalid")) {
+                byOutcome.put(outcome, Counter.builder("clinic.token.validations")
+                        .tag("role", role)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+            validationCounters.put(role, byOutcome);
+        }
     }
 
     @PostConstruct
     private void init() {
         // Generate signing key from secret
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.principalCache = new PrincipalCache(principalCacheMaxSize, principalCacheTtl);
     }
 
     /** Generate JWT token for a given identifier (username/email) */
@@ -40,37 +63,97 @@ public class TokenService {
 
     /** Extract user identifier (subject) from JWT */
     public String extractIdentifier(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
 
     /** Validate JWT token for a given user type */
     public boolean validateToken(String token, String userType) {
+        return resolvePrincipal(token, userType) != null;
+    }
+
+    /**
+     * Resolve the principal behind a JWT for a given user type, or null if the token is
+     * invalid, expired or does not belong to an existing user of that type.
+     * The signature is verified and the claims decoded only once per token; later calls
+     * are answered from the principal cache without querying the database.
+     * Every call is counted in clinic.token.validations by role and outcome.
+     */
+    public AuthenticatedPrincipal resolvePrincipal(String token, String userType) {
+        String role = userType.toLowerCase();
         try {
-            String identifier = extractIdentifier(token);
+            AuthenticatedPrincipal cached = principalCache.get(token);
+            if (cached != null) {
+                boolean sameRole = cached.getRole().equals(role);
+                countValidation(role, sameRole ? "valid" : "wrong_role");
+                return sameRole ? cached : null;
+            }
+
+            Claims claims = parseClaims(token);
+            String identifier = claims.getSubject();
 
-            switch (userType.toLowerCase()) {
+            Long id;
+            switch (role) {
                 case "admin":
                     Optional<Admin> adminOpt = Optional.ofNullable(adminRepository.findByUsername(identifier));
-                    return adminOpt.isPresent();
+                    id = adminOpt.map(Admin::getId).orElse(null);
+                    break;
                 case "doctor":
-                    Optional<Doctor> doctorOpt = Optional.ofNullable(doctorRepository.findByEmail(identifier));
-                    return doctorOpt.isPresent();
+                    Optional<Doctor> doctorOpt = Optional.ofNullable(doctorCache.findByEmail(identifier));
+                    id = doctorOpt.map(Doctor::getId).orElse(null);
+                    break;
                 case "patient":
                     Optional<Patient> patientOpt = Optional.ofNullable(patientRepository.findByEmail(identifier));
-                    return patientOpt.isPresent();
+                    id = patientOpt.map(Patient::getId).orElse(null);
+                    break;
                 default:
-                    return false;
+                    id = null;
             }
+
+            if (id == null) {
+                countValidation(role, "unknown_user");
+                return null;
+            }
+            AuthenticatedPrincipal principal = new AuthenticatedPrincipal(id, identifier, role, claims.getExpiration());
+            principalCache.put(token, principal);
+            countValidation(role, "valid");
+            return principal;
+        } catch (ExpiredJwtException e) {
+            countValidation(role, "expired");
+            return null;
         } catch (Exception e) {
-            return false; // invalid or expired token
+            countValidation(role, "invalid");
+            return null;
+        }
+    }
+
+    /** Private helper: count a validation outcome, keeping the role tag to the known roles */
+    private void countValidation(String role, String outcome) {
+        String roleTag = switch (role) {
+            case "admin", "doctor", "patient" -> role;
+            default -> "other";
+        };
+        validationCounters.get(roleTag).get(outcome).increment();
+    }
+
+    /**
+     * Invalidate every cached token of a user (admin username, doctor or patient email).
+     * Must be called whenever that user is removed or their identifier changes.
+     */
+    public void evictPrincipal(String identifier) {
+        if (identifier != null) {
+            principalCache.evictIdentifier(identifier);
         }
     }
 
+    /** Parse and verify a JWT, returning its claims */
+    private Claims parseClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
     /** Get the signing key used for JWT */
     public SecretKey getSigningKey() {
         return signingKey;
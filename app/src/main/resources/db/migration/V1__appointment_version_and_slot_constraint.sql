@@ -0,0 +1,35 @@
+-- Optimistic locking and double-booking protection for appointments (see Appointment).
+-- Written to be safe on an empty schema and on a database where Hibernate already created either of them.
+SET @has_appointment = (SELECT COUNT(*) FROM information_schema.tables
+                        WHERE table_schema = DATABASE() AND table_name = 'appointment');
+
+-- version: add it if missing, backfill existing rows with 0, then make it NOT NULL
+SET @has_version = (SELECT COUNT(*) FROM information_schema.columns
+                    WHERE table_schema = DATABASE() AND table_name = 'appointment' AND column_name = 'version');
+SET @ddl = IF(@has_appointment = 1 AND @has_version = 0,
+              'ALTER TABLE appointment ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_appointment = 1, 'UPDATE appointment SET version = 0 WHERE version IS NULL', 'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@has_appointment = 1, 'ALTER TABLE appointment MODIFY version BIGINT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- One appointment per doctor and slot; duplicate rows must be resolved before this runs
+SET @has_constraint = (SELECT COUNT(*) FROM information_schema.table_constraints
+                       WHERE table_schema = DATABASE() AND table_name = 'appointment'
+                         AND constraint_name = 'uk_appointment_doctor_time');
+SET @ddl = IF(@has_appointment = 1 AND @has_constraint = 0,
+              'ALTER TABLE appointment ADD CONSTRAINT uk_appointment_doctor_time UNIQUE (doctor_id, appointment_time)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
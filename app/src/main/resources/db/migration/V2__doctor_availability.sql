@@ -0,0 +1,38 @@
+-- Doctor availability as typed slots (see DoctorAvailability), replacing the
+-- doctor_available_times element collection of "HH:mm-HH:mm" strings.
+-- Written to be safe on an empty schema and on a database where Hibernate already created the table.
+
+-- doctor_availability: create it once the doctor table exists
+SET @has_doctor = (SELECT COUNT(*) FROM information_schema.tables
+                   WHERE table_schema = DATABASE() AND table_name = 'doctor');
+SET @ddl = IF(@has_doctor = 0, 'DO 0',
+              'CREATE TABLE IF NOT EXISTS doctor_availability (
+                   id BIGINT NOT NULL AUTO_INCREMENT,
+                   doctor_id BIGINT NOT NULL,
+                   start_time TIME NOT NULL,
+                   end_time TIME NOT NULL,
+                   PRIMARY KEY (id),
+                   INDEX idx_availability_doctor_start (doctor_id, start_time),
+                   CONSTRAINT fk_availability_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id)
+               )');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Copy each doctor's configured hours from the old collection table, unless already copied;
+-- a time without an end lasts one hour, as in Doctor.setAvailableTimes
+SET @has_old_times = (SELECT COUNT(*) FROM information_schema.tables
+                      WHERE table_schema = DATABASE() AND table_name = 'doctor_available_times');
+SET @dml = IF(@has_old_times = 0, 'DO 0',
+              'INSERT INTO doctor_availability (doctor_id, start_time, end_time)
+               SELECT t.doctor_id,
+                      CAST(TRIM(SUBSTRING_INDEX(t.available_times, ''-'', 1)) AS TIME),
+                      IF(LOCATE(''-'', t.available_times) = 0,
+                         ADDTIME(CAST(TRIM(t.available_times) AS TIME), ''01:00:00''),
+                         CAST(TRIM(SUBSTRING_INDEX(t.available_times, ''-'', -1)) AS TIME))
+               FROM doctor_available_times t
+               WHERE t.available_times IS NOT NULL
+                 AND NOT EXISTS (SELECT 1 FROM doctor_availability a WHERE a.doctor_id = t.doctor_id)');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,56 @@
+-- Pooled id sequences for Appointment and DoctorAvailability, so their inserts can be JDBC-batched.
+-- MySQL has no sequences: Hibernate emulates each one with a single-row table holding next_val.
+-- With allocationSize = 50 a value v hands out the ids v - 49 .. v, so the tables are seeded with
+-- MAX(id) + 50 and the first new id is MAX(id) + 1.
+-- Written to be safe on an empty schema and on a database where Hibernate already created the tables.
+
+-- appointment_seq
+SET @has_appointment = (SELECT COUNT(*) FROM information_schema.tables
+                        WHERE table_schema = DATABASE() AND table_name = 'appointment');
+SET @ddl = IF(@has_appointment = 1, 'CREATE TABLE IF NOT EXISTS appointment_seq (next_val BIGINT) ENGINE = InnoDB', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_appointment = 1,
+              'INSERT INTO appointment_seq (next_val)
+               SELECT COALESCE(MAX(id), 0) + 50 FROM appointment
+               WHERE NOT EXISTS (SELECT 1 FROM appointment_seq)',
+              'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_appointment = 1,
+              'UPDATE appointment_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM appointment))',
+              'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- doctor_availability_seq
+SET @has_availability = (SELECT COUNT(*) FROM information_schema.tables
+                         WHERE table_schema = DATABASE() AND table_name = 'doctor_availability');
+SET @ddl = IF(@has_availability = 1,
+              'CREATE TABLE IF NOT EXISTS doctor_availability_seq (next_val BIGINT) ENGINE = InnoDB',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_availability = 1,
+              'INSERT INTO doctor_availability_seq (next_val)
+               SELECT COALESCE(MAX(id), 0) + 50 FROM doctor_availability
+               WHERE NOT EXISTS (SELECT 1 FROM doctor_availability_seq)',
+              'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @dml = IF(@has_availability = 1,
+              'UPDATE doctor_availability_seq
+               SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM doctor_availability))',
+              'DO 0');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -10,13 +10,18 @@ let selectedDate = new Date().toISOString().split('T')[0]; // YYYY-MM-DD
 const token = localStorage.getItem('token');
 let patientName = null;
 
+// Wait this long after the last keystroke before searching
+const SEARCH_DEBOUNCE_MS = 250;
+let searchTimer = null;
+
 // Search Bar Functionality
 const searchBar = document.getElementById('searchBar');
 if (searchBar) {
   searchBar.addEventListener('input', () => {
     const value = searchBar.value.trim();
     patientName = value || null;
-    loadAppointments();
+    clearTimeout(searchTimer);
+    searchTimer = setTimeout(loadAppointments, SEARCH_DEBOUNCE_MS);
   });
 }
 
@@ -51,7 +56,7 @@ async function loadAppointments() {
     patientTableBody.innerHTML = "";
 
     // Fetch appointments from backend
-    const appointments = await getAllAppointments(selectedDate, patientName, token);
+    const { appointments } = await getAllAppointments(selectedDate, patientName, token);
 
     if (!appointments || !appointments.length) {
       const tr = document.createElement('tr');
@@ -66,7 +71,13 @@ async function loadAppointments() {
 
     // Render each appointment row
     appointments.forEach(appointment => {
-      const row = createPatientRow(appointment);
+      const patient = {
+        id: appointment.patientId,
+        name: appointment.patientName,
+        phone: appointment.patientPhone,
+        email: appointment.patientEmail
+      };
+      const row = createPatientRow(patient, appointment.id, appointment.doctorId);
       patientTableBody.appendChild(row);
     });
 
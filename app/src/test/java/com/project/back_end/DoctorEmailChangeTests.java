@@ -0,0 +1,62 @@
+package com.project.back_end;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.TokenService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+class DoctorEmailChangeTests {
+
+	@Autowired
+	private DoctorService doctorService;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void tokenOfTheOldEmailStopsResolvingAfterTheEmailChanges() {
+		Doctor doctor = new Doctor("Email Change", "Cardiologist", "old.email@example.com", "secret",
+				"5550003333", List.of("09:00-10:00"));
+		assertEquals(1, doctorService.saveDoctor(doctor));
+		Long id = doctorRepository.findByEmail("old.email@example.com").getId();
+		try {
+			String oldToken = tokenService.generateToken("old.email@example.com", "doctor");
+			assertNotNull(tokenService.resolvePrincipal(oldToken, "doctor"));
+
+			// One persistence context for the lookup and the save, as with open-in-view
+			Doctor renamed = new Doctor("Email Change", "Cardiologist", "new.email@example.com", "secret",
+					"5550003333", List.of("09:00-10:00"));
+			renamed.setId(id);
+			transactionTemplate.executeWithoutResult(status -> assertEquals(1, doctorService.updateDoctor(renamed)));
+
+			assertNull(tokenService.resolvePrincipal(oldToken, "doctor"));
+			assertNotNull(tokenService.resolvePrincipal(
+					tokenService.generateToken("new.email@example.com", "doctor"), "doctor"));
+		} finally {
+			doctorService.deleteDoctor(id);
+		}
+	}
+
+}
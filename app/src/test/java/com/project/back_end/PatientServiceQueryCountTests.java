@@ -0,0 +1,69 @@
+package com.project.back_end;
+
+import com.project.back_end.DTO.AppointmentsResponse;
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.PatientService;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static com.project.back_end.QueryCountAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Transactional
+class PatientServiceQueryCountTests {
+
+	@Autowired
+	private PatientService patientService;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void getPatientAppointmentRunsOneStatementRegardlessOfAppointmentCount() {
+		Patient patient = patientRepository.save(
+				new Patient("Query Count", "query.count@example.com", "secret", "5550001111", "1 Test Street"));
+		LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+		for (int i = 0; i < 5; i++) {
+			Doctor doctor = doctorRepository.save(new Doctor("Doctor " + i, "Cardiologist",
+					"query.count.doctor" + i + "@example.com", "secret", "555000222" + i, List.of("09:00-10:00")));
+			appointmentRepository.save(new Appointment(doctor, patient, start.plusHours(i), 0));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		AuthenticatedPrincipal principal =
+				new AuthenticatedPrincipal(patient.getId(), patient.getEmail(), "patient", new Date(Long.MAX_VALUE));
+		var response = assertMaxStatements(1, () -> patientService.getPatientAppointment(patient.getId(), principal));
+
+		assertEquals(5, ((AppointmentsResponse) response.getBody()).appointments().size());
+	}
+
+}
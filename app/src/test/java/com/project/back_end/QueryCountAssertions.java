@@ -0,0 +1,33 @@
+package com.project.back_end;
+
+import com.project.back_end.config.QueryCounter;
+
+import java.util.function.Supplier;
+
+/**
+ * Assertions on the number of SQL statements a piece of code executes, e.g.
+ * <pre>
+ *     QueryCountAssertions.assertMaxStatements(1, () -> patientService.getPatientAppointment(id, principal));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /** Run the action and fail, listing the statements, if it executed more than max of them */
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        QueryCounter.Scope scope = QueryCounter.start(true);
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            QueryCounter.stop(scope);
+        }
+        if (scope.getCount() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + scope.getCount()
+                    + " were executed:\n  " + String.join("\n  ", scope.getStatements()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.back_end;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Throwaway MySQL and MongoDB servers for integration tests, wired in as the application's
+ * datasource and Mongo connection. Use together with the "test" profile, e.g.
+ * <pre>
+ *     &#64;SpringBootTest
+ *     &#64;ActiveProfiles("test")
+ *     &#64;Import(TestcontainersConfiguration.class)
+ * </pre>
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+	@Bean
+	@ServiceConnection
+	MySQLContainer<?> mysqlContainer() {
+		return new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+	}
+
+	@Bean
+	@ServiceConnection
+	MongoDBContainer mongoDbContainer() {
+		return new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+	}
+
+}